@@ -0,0 +1,65 @@
+package com.example.automator;
+
+import com.example.bench.BenchmarkData;
+import com.example.model.FifaFinalResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTML escaping and confirmation-page rendering in {@link WebUIAutomator}, for one page per row
+ * and for a single batch page holding every row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfirmationPageBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int rows;
+
+    private List<FifaFinalResult> results;
+    private WebUIAutomator automator;
+
+    @Setup
+    public void setUp() {
+        results = BenchmarkData.results(rows);
+        automator = new WebUIAutomator();
+    }
+
+    @Benchmark
+    public void escapeHtml(Blackhole blackhole) {
+        for (FifaFinalResult result : results) {
+            blackhole.consume(WebUIAutomator.escapeHtml(result.getWinner()));
+            blackhole.consume(WebUIAutomator.escapeHtml(result.getScore()));
+            blackhole.consume(WebUIAutomator.escapeHtml(result.getRunnerUp()));
+        }
+    }
+
+    @Benchmark
+    public void renderPagePerRow(Blackhole blackhole) {
+        for (FifaFinalResult result : results) {
+            blackhole.consume(automator.buildConfirmationPage(result));
+        }
+    }
+
+    @Benchmark
+    public String renderBatchPage() {
+        return automator.buildBatchReviewPage(results);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.bench;
+
+import com.example.model.FifaFinalResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Synthetic inputs shaped like the real "List of FIFA World Cup finals" page, at any row count.
+ */
+public final class BenchmarkData {
+
+    private static final String[] TEAMS = {
+            "Uruguay", "Argentina", "Italy", "Czechoslovakia", "Hungary", "Brazil", "West Germany",
+            "Sweden", "England", "Netherlands", "France", "Spain", "Germany", "Croatia"
+    };
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * @return a page with three leading tables and the finals table fourth, like the live page,
+     *         holding {@code rows} data rows after the header row
+     */
+    public static String finalsPage(int rows) {
+        StringBuilder html = new StringBuilder(256 + rows * 420);
+        html.append("<!DOCTYPE html><html><head><meta charset='UTF-8'><title>Finals</title></head><body>")
+                .append("<div id='mw-content-text'><div class='mw-parser-output'>")
+                .append("<table class='infobox'><tbody><tr><th>Founded</th><td>1930</td></tr></tbody></table>")
+                .append("<table class='wikitable'><tbody><tr><th>Key</th><td>*</td></tr></tbody></table>")
+                .append("<table class='wikitable'><tbody><tr><th>Key</th><td>+</td></tr></tbody></table>")
+                .append("<table class='sortable plainrowheaders wikitable'><tbody>")
+                .append("<tr><th>Year</th><th>Winners</th><th>Score</th><th>Runners-up</th><th>Venue</th><th>Location</th><th>Attendance</th></tr>");
+        for (int i = 0; i < rows; i++) {
+            String winner = TEAMS[i % TEAMS.length];
+            String runnerUp = TEAMS[(i + 1) % TEAMS.length];
+            int year = 1930 + i;
+            html.append("<tr><th scope='row'><a href='/wiki/").append(year).append("_final'>").append(year).append("</a></th>")
+                    .append("<td><span class='flagicon'><img alt='' src='f.png'></span> <a href='/wiki/").append(winner).append("'>").append(winner).append("</a></td>")
+                    .append("<td><a href='/wiki/").append(year).append("_final'>").append(i % 5).append("&#8211;").append(i % 3).append("</a></td>")
+                    .append("<td><span class='nowrap'><span class='flagicon'><img alt='' src='f.png'></span> <a href='/wiki/").append(runnerUp).append("'>").append(runnerUp).append("</a></span></td>")
+                    .append("<td>Stadium ").append(i).append("</td><td>City ").append(i).append("</td><td>").append(50_000 + i).append("</td></tr>");
+        }
+        html.append("</tbody></table></div></div></body></html>");
+        return html.toString();
+    }
+
+    public static List<FifaFinalResult> results(int rows) {
+        List<FifaFinalResult> results = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            results.add(new FifaFinalResult(1930 + i, TEAMS[i % TEAMS.length], (i % 5) + "–" + (i % 3) + " (a.e.t.)",
+                    "<" + TEAMS[(i + 1) % TEAMS.length] + " & Co.>"));
+        }
+        return results;
+    }
+}
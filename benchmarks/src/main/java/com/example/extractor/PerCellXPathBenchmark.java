@@ -0,0 +1,61 @@
+package com.example.extractor;
+
+import com.example.bench.BenchmarkData;
+import com.example.model.FifaDataXPath;
+import org.jsoup.Jsoup;
+import org.jsoup.helper.W3CDom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The old extraction strategy without the browser round trips: every cell is located by formatting
+ * its {@link FifaDataXPath} pattern, compiling it and evaluating it from the document root.
+ * Each lookup scans the table from the top, so the total is quadratic in the row count;
+ * 100k rows is left out because a single invocation would run for hours.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PerCellXPathBenchmark {
+
+    @Param({"10", "1000"})
+    public int rows;
+
+    private org.w3c.dom.Document document;
+    private XPath xpath;
+
+    @Setup
+    public void setUp() {
+        document = W3CDom.convert(Jsoup.parse(BenchmarkData.finalsPage(rows)));
+        xpath = XPathFactory.newInstance().newXPath();
+    }
+
+    @Benchmark
+    public void perCellXPathExtraction(Blackhole blackhole) throws XPathExpressionException {
+        // Row 1 is the header row, as in the original loop
+        for (int rowIndex = 2; rowIndex <= rows + 1; rowIndex++) {
+            for (FifaDataXPath field : FifaDataXPath.values()) {
+                blackhole.consume(xpath.evaluate(field.getFormattedXPath(rowIndex), document, XPathConstants.STRING));
+            }
+        }
+    }
+}
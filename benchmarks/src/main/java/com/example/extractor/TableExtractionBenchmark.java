@@ -0,0 +1,55 @@
+package com.example.extractor;
+
+import com.example.bench.BenchmarkData;
+import com.example.model.FifaFinalResult;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-pass, header-resolved table extraction ({@link TableExtractor}) on an already parsed page,
+ * plus the cost of parsing the page itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TableExtractionBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int rows;
+
+    private String html;
+    private Document document;
+
+    @Setup
+    public void setUp() {
+        html = BenchmarkData.finalsPage(rows);
+        document = Jsoup.parse(html);
+    }
+
+    @Benchmark
+    public List<FifaFinalResult> singlePassExtraction() {
+        return JsoupFifaTableExtractor.extractResults(document, rows + 1);
+    }
+
+    @Benchmark
+    public Document parsePage() {
+        return Jsoup.parse(html);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.extractor;
+
+import com.example.model.FifaDataXPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link FifaDataXPath#getFormattedXPath(int)} for every field of every row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XPathFormattingBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int rows;
+
+    @Benchmark
+    public void formatAllCellXPaths(Blackhole blackhole) {
+        for (int rowIndex = 1; rowIndex <= rows; rowIndex++) {
+            for (FifaDataXPath field : FifaDataXPath.values()) {
+                blackhole.consume(field.getFormattedXPath(rowIndex));
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.gsheets;
+
+import com.example.bench.BenchmarkData;
+import com.example.model.FifaFinalResult;
+import com.example.model.FifaResultBatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@link FifaFinalResult} to {@code List<List<Object>>} conversion done before every append,
+ * and reading the same rows through a {@link FifaResultBatch} view instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SheetRowsBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int rows;
+
+    private List<FifaFinalResult> results;
+    private FifaResultBatch batch;
+
+    @Setup
+    public void setUp() {
+        results = BenchmarkData.results(rows);
+        batch = FifaResultBatch.of(results);
+    }
+
+    @Benchmark
+    public List<List<Object>> toSheetRows() {
+        return GoogleSheetsWriter.toRows(results);
+    }
+
+    @Benchmark
+    public void readBatchSheetRows(Blackhole blackhole) {
+        for (List<Object> row : batch.asSheetRows()) {
+            for (Object cell : row) {
+                blackhole.consume(cell);
+            }
+        }
+    }
+
+    @Benchmark
+    public FifaResultBatch buildBatch() {
+        return FifaResultBatch.of(results);
+    }
+}
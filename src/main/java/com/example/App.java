@@ -1,144 +1,633 @@
 package com.example;
 
 import com.example.automator.WebUIAutomator;
-import com.example.model.FifaDataXPath; // Your XPath enum
+import com.example.cache.PageCache;
+import com.example.driver.BrowserProfile;
+import com.example.driver.ChromeDriverResolver;
+import com.example.driver.PooledDriver;
+import com.example.driver.WebDriverPool;
+import com.example.extractor.FifaResultExtractor;
+import com.example.extractor.JsoupFifaTableExtractor;
+import com.example.extractor.SeleniumFifaTableExtractor;
 import com.example.gsheets.GoogleSheetsWriter;
+import com.example.gsheets.StreamingSheetsSink;
+import com.example.jobs.HostRateLimiter;
+import com.example.jobs.ScrapeJob;
+import com.example.jobs.ScrapeJobRunner;
+import com.example.jobs.ScrapeJobsExtractor;
+import com.example.journal.RunJournal;
+import com.example.metrics.MetricsExporter;
+import com.example.metrics.MetricsRegistry;
 import com.example.model.FifaFinalResult;
-import io.github.bonigarcia.wdm.WebDriverManager;
-import org.openqa.selenium.By;
-import org.openqa.selenium.TimeoutException;
+import com.example.model.FifaResultBatch;
+import com.example.pipeline.ReviewPipeline;
+import com.example.sink.ColumnarFileSink;
+import com.example.sink.CsvFileSink;
+import com.example.sink.FanOutSink;
+import com.example.sink.ResultSink;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 public class App {
 
-    private final WebDriver driver;
+    private final WebDriverPool driverPool;
+    private final boolean ownsDriverPool;
     private final WebUIAutomator uiAutomator;
-    private final GoogleSheetsWriter sheetsWriter;
-    private final WebDriverWait wait;
+    private final StartupTimings startupTimings;
+    // Created on first use, so runs that never need them skip their startup cost
+    private GoogleSheetsWriter sheetsWriter;
+    private PooledDriver pooledDriver;
+    private WebDriver driver;
+    private WebDriverWait wait;
+    // Separate browser for Selenium extraction when it runs with a non-default profile
+    private WebDriverPool extractionDriverPool;
+    private PooledDriver extractionDriver;
+    private final RunOptions options;
+    private final String sourceLocation;
+    private final PageCache pageCache;
+    // Hash of the source page checked by --skip-unchanged; recorded as processed once the run completes
+    private String sourceHash;
 
-    private static final String WIKIPEDIA_URL = "https://en.wikipedia.org/wiki/List_of_FIFA_World_Cup_finals";
-    private static final int NUM_ITERATIONS_TO_ATTEMPT = 10;
+    // Missing rows cost nothing to skip, so every row of the table is offered
+    private static final int NUM_ITERATIONS_TO_ATTEMPT = FifaResultExtractor.ALL_ROWS;
+    private static final int PIPELINE_QUEUE_CAPACITY = 16;
+    private static final int MAX_CONCURRENT_JOBS = 8;
+    private static final int PER_HOST_BURST = 4;
+    private static final double PER_HOST_REQUESTS_PER_SECOND = 2.0;
+    private static final Duration DRIVER_LEASE_TIMEOUT = Duration.ofMinutes(10);
 
     public App() {
-        WebDriverManager.chromedriver().setup();
-        ChromeOptions options = new ChromeOptions();
-        this.driver = new ChromeDriver(options);
-        this.uiAutomator = new WebUIAutomator();
-        this.sheetsWriter = new GoogleSheetsWriter();
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this(RunOptions.builder().build());
     }
 
-    public void runFifaDataFlow() {
-        String tableBaseCheckXPath = "//*[@id=\"mw-content-text\"]/div[1]/table[4]";
+    /**
+     * Runs with a private single-browser pool that is shut down at the end of the run.
+     */
+    public App(RunOptions options) {
+        this(options, newChromeDriverPool(1, options.isFastStart()), true);
+    }
 
-        try {
-            driver.get(WIKIPEDIA_URL);
-            System.out.println("Opened Wikipedia page: " + WIKIPEDIA_URL);
-            try {
-                wait.until(ExpectedConditions.visibilityOfElementLocated(By.xpath(tableBaseCheckXPath)));
-                System.out.println("Target FIFA finals table appears to be initially loaded.");
-            } catch (TimeoutException e) {
-                System.err.println("ERROR: Target FIFA finals table container not found on initial load. XPath: " + tableBaseCheckXPath + ". Exiting.");
-                return;
-            }
+    /**
+     * Runs with a browser leased from a pool shared by several jobs; the browser is returned, not quit, at the end.
+     */
+    public App(RunOptions options, WebDriverPool driverPool) {
+        this(options, driverPool, false);
+    }
 
-            int successfullyExtractedAndOfferedForConfirmation = 0;
-            List<FifaFinalResult> confirmedForAppendThisSession = new ArrayList<>();
+    private App(RunOptions options, WebDriverPool driverPool, boolean ownsDriverPool) {
+        this.options = options;
+        this.sourceLocation = options.getSourceLocation();
+        this.pageCache = options.isPageCacheEnabled() ? PageCache.defaultCache() : null;
+        this.driverPool = driverPool;
+        this.ownsDriverPool = ownsDriverPool;
+        this.uiAutomator = new WebUIAutomator();
+        this.startupTimings = new StartupTimings();
+    }
 
-            for (int rowIndex = 1; rowIndex <= NUM_ITERATIONS_TO_ATTEMPT; rowIndex++) {
+    /**
+     * Creates a pool of Chrome sessions. Nothing is resolved or launched until the first session is needed.
+     *
+     * @param size                 most Chrome sessions kept open at once
+     * @param useCachedDriverPath  reuse the chromedriver path remembered by an earlier run instead of resolving it over the network
+     */
+    public static WebDriverPool newChromeDriverPool(int size, boolean useCachedDriverPath) {
+        return newChromeDriverPool(size, useCachedDriverPath, BrowserProfile.DEFAULT);
+    }
 
-                if (!driver.getCurrentUrl().startsWith(WIKIPEDIA_URL)) {
-                    System.out.println("DEBUG: Navigating back to Wikipedia page for row index " + rowIndex + "...");
-                    driver.get(WIKIPEDIA_URL);
-                }
+    /**
+     * Creates a pool of Chrome sessions launched with the given profile.
+     */
+    public static WebDriverPool newChromeDriverPool(int size, boolean useCachedDriverPath, BrowserProfile profile) {
+        return new WebDriverPool(() -> {
+            ChromeDriverResolver.resolve(useCachedDriverPath);
+            return profile.start();
+        }, size);
+    }
 
-                System.out.println("\n--- Attempting to extract data for Wikipedia table row index: " + rowIndex + " ---");
-                FifaFinalResult currentResult = null;
-                String yearText = "", winnerName = "", scoreText = "", runnerUpName = "";
+    public void runFifaDataFlow() {
+        ResultSink resultSink = null;
+        RunJournal journal = null;
+        try {
+            journal = openJournal();
+            boolean resuming = journal != null && journal.hasExtraction();
+            if (!resuming && options.isSkipIfUnchanged()) {
+                sourceHash = currentSourceHash();
+                if (sourceHash != null && pageCache.isProcessed(sourceLocation, sourceHash)) {
+                    System.out.println("Source page " + sourceLocation + " has not changed since the last completed run. Nothing to do.");
+                    return;
+                }
+            }
 
-                try {
-                    String yearXpath = FifaDataXPath.YEAR.getFormattedXPath(rowIndex);
-                    yearText = wait.until(ExpectedConditions.visibilityOfElementLocated(By.xpath(yearXpath))).getText().trim();
+            if (options.isPipelined()) {
+                resultSink = newResultSink();
+                runPipelinedReview(resultSink);
+                return;
+            }
 
-                    String winnerXpath = FifaDataXPath.WINNER.getFormattedXPath(rowIndex);
-                    winnerName = wait.until(ExpectedConditions.visibilityOfElementLocated(By.xpath(winnerXpath))).getText().trim();
+            // Held column-wise for the rest of the run
+            List<FifaFinalResult> extractedResults;
+            int firstRowToReview = 0;
+            if (resuming) {
+                extractedResults = FifaResultBatch.of(journal.getExtracted()).asResults();
+                firstRowToReview = journal.getNextRowToReview();
+                System.out.println("INFO: Resuming the interrupted run recorded in " + journal.getFile() + " at row " + firstRowToReview + " of " + extractedResults.size() + ".");
+            } else {
+                extractedResults = extractResults().asResults();
+                if (extractedResults.isEmpty()) {
+                    System.err.println("ERROR: No FIFA final results could be extracted from " + sourceLocation + ". Exiting.");
+                    return;
+                }
+                if (journal != null) {
+                    journal.recordExtracted(extractedResults);
+                }
+            }
 
-                    String scoreXpath = FifaDataXPath.SCORE.getFormattedXPath(rowIndex);
-                    scoreText = wait.until(ExpectedConditions.visibilityOfElementLocated(By.xpath(scoreXpath))).getText().trim().replace("\n", " ");
+            int successfullyExtractedAndOfferedForConfirmation = 0;
+            // Only a review that decided every row may delete the journal; quit, timeout or error leave it for the next run
+            boolean reviewFinished = false;
+            // Row indexes of every result handed to the sink this run, replayed ones included
+            List<Integer> confirmedRows = new ArrayList<>();
+            // Confirmed rows stream to the sinks (Sheets in chunks) while the user keeps reviewing
+            resultSink = newResultSink();
+            SentRowTracker sentRows = null;
+            if (journal != null) {
+                sentRows = new SentRowTracker(journal);
+                resultSink.setWriteListener(sentRows);
+            }
 
-                    String runnerUpXpath = FifaDataXPath.RUNNER_UP.getFormattedXPath(rowIndex);
-                    runnerUpName = wait.until(ExpectedConditions.visibilityOfElementLocated(By.xpath(runnerUpXpath))).getText().trim();
+            if (resuming && !journal.getUnsentConfirmedRows().isEmpty()) {
+                List<Integer> unsentRows = journal.getUnsentConfirmedRows();
+                System.out.println("INFO: Replaying " + unsentRows.size() + " confirmed results that were not written before the interruption.");
+                expect(sentRows, extractedResults, unsentRows);
+                resultSink.write(FifaResultBatch.of(rowsAt(extractedResults, unsentRows)));
+                confirmedRows.addAll(unsentRows);
+            }
 
-                    if (yearText.isEmpty() || winnerName.isEmpty() || scoreText.isEmpty() || runnerUpName.isEmpty()) {
-                        System.err.println("WARN: One or more data fields are empty for row index " + rowIndex +
-                                " (Y:'" + yearText + "', W:'" + winnerName + "', S:'" + scoreText + "', R:'" + runnerUpName + "'). Skipping this row.");
-                        continue;
+            if (options.isBatchReview()) {
+                reviewFinished = true;
+                if (firstRowToReview < extractedResults.size()) {
+                    // One review page for every extracted result; the browser only renders it once
+                    List<FifaFinalResult> toReview = extractedResults.subList(firstRowToReview, extractedResults.size());
+                    successfullyExtractedAndOfferedForConfirmation = toReview.size();
+                    List<FifaFinalResult> selected = uiAutomator.getUserSelectionFromBatchPage(driver(), toReview);
+                    if (selected == null) {
+                        // Quit, timed out or failed: nothing was decided, so the whole page is offered again next run
+                        System.out.println("Condition: The batch review was not submitted. No results will be appended.");
+                        selected = Collections.emptyList();
+                        reviewFinished = false;
+                    }
+                    // The selection is in input order with each row once, so one pass pairs each selected result with its row;
+                    // the journal and the write below both come from the paired rows
+                    Map<Integer, String> choices = new LinkedHashMap<>();
+                    List<Integer> selectedRows = new ArrayList<>();
+                    int next = 0;
+                    for (int row = firstRowToReview; row < extractedResults.size(); row++) {
+                        boolean append = next < selected.size() && selected.get(next).equals(extractedResults.get(row));
+                        if (append) {
+                            next++;
+                            selectedRows.add(row);
+                        }
+                        choices.put(row, append ? "append" : "skip");
+                    }
+                    if (journal != null && reviewFinished) {
+                        journal.recordDecisions(choices);
+                    }
+                    expect(sentRows, extractedResults, selectedRows);
+                    resultSink.write(FifaResultBatch.of(rowsAt(extractedResults, selectedRows)));
+                    confirmedRows.addAll(selectedRows);
+                    if (reviewFinished) {
+                        MetricsRegistry.global().add(MetricsRegistry.ROWS_SKIPPED, toReview.size() - selectedRows.size());
                     }
-
-                    int year = Integer.parseInt(yearText.replaceAll("[^0-9]", ""));
-                    currentResult = new FifaFinalResult(year, winnerName, scoreText, runnerUpName);
-                    System.out.println("Successfully extracted: " + currentResult.toString());
-
-                } catch (TimeoutException e) {
-                    System.err.println("WARN: Timeout finding an element for row index " + rowIndex + ". This row might not exist or XPaths are incorrect. Skipping this row index. Details: " + e.getMessage());
-                    continue;
-                } catch (NumberFormatException e) {
-                    System.err.println("ERROR: Could not parse year for row index " + rowIndex + " (Year text: '"+yearText+"'). Skipping this row.");
-                    continue;
-                } catch (Exception e) {
-                    System.err.println("ERROR: Unexpected error extracting data for row index " + rowIndex + ": " + e.getMessage());
-                    System.out.println("Skipping this row index.");
-                    continue;
                 }
+            } else {
+                reviewFinished = true;
+                for (int row = firstRowToReview; row < extractedResults.size(); row++) {
+                    FifaFinalResult currentResult = extractedResults.get(row);
+                    successfullyExtractedAndOfferedForConfirmation++;
+                    // This call will navigate the driver to the local confirmation page; the source page is not needed again
+                    String userChoice = uiAutomator.getUserChoiceFromWebPage(driver(), currentResult);
+                    System.out.println("DEBUG: User choice from web UI for year " + currentResult.getYear() + ": '" + userChoice + "'");
 
-                successfullyExtractedAndOfferedForConfirmation++;
-                // This call will navigate the driver to a local file URL
-                String userChoice = uiAutomator.getUserChoiceFromWebPage(driver, currentResult);
-                System.out.println("DEBUG: User choice from web UI for year " + currentResult.getYear() + ": '" + userChoice + "'");
-
-                if ("append".equals(userChoice)) {
-                    System.out.println("Condition: User chose 'append'. Adding result for year " + currentResult.getYear() + " to batch.");
-                    confirmedForAppendThisSession.add(currentResult);
-                } else if ("quit".equals(userChoice)) {
-                    System.out.println("Condition: User chose 'quit'. Terminating process.");
-                    // Append any previously confirmed results before quitting
-                    break;
-                } else {
-                    System.out.println("Condition: User chose or defaulted to '" + userChoice + "'. Skipping append for year " + currentResult.getYear() + ".");
+                    if ("quit".equals(userChoice) || "timeout".equals(userChoice) || "error".equals(userChoice)) {
+                        System.out.println("Condition: Review ended with '" + userChoice + "' at year " + currentResult.getYear() + ". Terminating process.");
+                        // Append any previously confirmed results before stopping; the remaining rows stay open in the journal
+                        reviewFinished = false;
+                        break;
+                    }
+                    // Journaled before acting on it, so a crash right after cannot lose the choice
+                    if (journal != null) {
+                        journal.recordDecision(row, "append".equals(userChoice) ? "append" : "skip");
+                    }
+                    if ("append".equals(userChoice)) {
+                        System.out.println("Condition: User chose 'append'. Adding result for year " + currentResult.getYear() + " to batch.");
+                        confirmedRows.add(row);
+                        expect(sentRows, extractedResults, Collections.singletonList(row));
+                        resultSink.write(Collections.singletonList(currentResult));
+                    } else {
+                        System.out.println("Condition: User chose or defaulted to '" + userChoice + "'. Skipping append for year " + currentResult.getYear() + ".");
+                        MetricsRegistry.global().increment(MetricsRegistry.ROWS_SKIPPED);
+                    }
                 }
             }
 
-            // After the loop, append any remaining confirmed results
-            if (!confirmedForAppendThisSession.isEmpty()) {
-                System.out.println("\n--- Step 5: Call API (Appending " + confirmedForAppendThisSession.size() + " final confirmed results to Google Sheets) ---");
-                sheetsWriter.appendResults(confirmedForAppendThisSession);
+            // After the loop, flush any confirmed results still buffered in the sink
+            closeAndReport(resultSink);
+            if (journal != null) {
+                finishJournal(journal, extractedResults, confirmedRows, resultSink.getFailedRows(), reviewFinished);
+            }
+            if (reviewFinished && resultSink.getFailedRows().isEmpty()) {
+                markSourceProcessed();
             }
 
-            System.out.println("\nFinished processing " + NUM_ITERATIONS_TO_ATTEMPT + " row indices. " + successfullyExtractedAndOfferedForConfirmation + " results were successfully extracted and offered for confirmation.");
-            System.out.println(confirmedForAppendThisSession.size() + " results were confirmed by the user for appending.");
+            System.out.println("\nFinished processing the finals table. " + successfullyExtractedAndOfferedForConfirmation + " results were successfully extracted and offered for confirmation.");
+            System.out.println(confirmedRows.size() + " results were confirmed by the user for appending, " + resultSink.getRowsWritten() + " were written to " + resultSink + ".");
 
         } catch (Exception e) {
             System.err.println("FATAL ERROR in application flow: " + e.getMessage());
             e.printStackTrace();
         } finally {
+            closeQuietly(resultSink);
+            closeQuietly(journal);
+            uiAutomator.close();
             System.out.println("\n--- Application Flow Finished ---");
-            if (driver != null) {
+            System.out.println("Startup timings: " + startupTimings);
+            exportMetrics();
+            closeExtractionDriver();
+            if (pooledDriver != null) {
+                System.out.println("Returning WebDriver to the pool.");
+                pooledDriver.close();
+            }
+            if (ownsDriverPool) {
                 System.out.println("Closing WebDriver.");
-                driver.quit();
+                driverPool.close();
+            }
+        }
+    }
+
+    /**
+     * Opens the journal of this source, or returns null when journaling is off or the journal cannot be opened.
+     * Pipelined runs extract and review concurrently and are not journaled.
+     */
+    private RunJournal openJournal() {
+        if (!options.isJournalEnabled() || options.isPipelined()) {
+            return null;
+        }
+        String runKey = options.getJobsFile() != null
+                ? "jobs:" + Paths.get(options.getJobsFile()).toAbsolutePath()
+                : sourceLocation;
+        Path file = RunJournal.defaultFile(runKey);
+        try {
+            return RunJournal.open(file);
+        } catch (IOException e) {
+            System.err.println("WARN: Could not open the run journal " + file + " (" + e.getMessage() + "). Running without it.");
+            return null;
+        }
+    }
+
+    /**
+     * Marks what reached the sinks as sent, and deletes the journal once every row is decided and nothing is left to retry.
+     */
+    private static void finishJournal(RunJournal journal, List<FifaFinalResult> extractedResults,
+                                      List<Integer> confirmedRows, List<FifaFinalResult> failedRows,
+                                      boolean reviewFinished) throws IOException {
+        Set<FifaFinalResult> failed = new HashSet<>(failedRows);
+        List<Integer> sentRows = new ArrayList<>();
+        for (Integer row : confirmedRows) {
+            if (!failed.contains(extractedResults.get(row))) {
+                sentRows.add(row);
+            }
+        }
+        journal.recordSent(sentRows);
+        if (!reviewFinished) {
+            System.out.println("INFO: The review stopped at row " + journal.getNextRowToReview() + " of " + extractedResults.size() + "; the next run resumes from " + journal.getFile() + ".");
+        } else if (failed.isEmpty()) {
+            journal.complete();
+        } else {
+            System.err.println("WARN: " + failed.size() + " confirmed results stay in " + journal.getFile() + " and will be written by the next run.");
+        }
+    }
+
+    private static void expect(SentRowTracker sentRows, List<FifaFinalResult> results, List<Integer> rows) {
+        if (sentRows != null) {
+            for (Integer row : rows) {
+                sentRows.expect(row, results.get(row));
+            }
+        }
+    }
+
+    /**
+     * Journals confirmed rows as sent as soon as the sink reports them written, e.g. per appended Sheets chunk,
+     * so a crash late in a long review only replays the rows that were still in flight.
+     */
+    private static final class SentRowTracker implements Consumer<List<FifaFinalResult>> {
+        private final RunJournal journal;
+        // Rows handed to the sink and not reported yet, by value; equal results queue up in order
+        private final Map<FifaFinalResult, Deque<Integer>> inFlight = new HashMap<>();
+
+        private SentRowTracker(RunJournal journal) {
+            this.journal = journal;
+        }
+
+        synchronized void expect(int row, FifaFinalResult result) {
+            inFlight.computeIfAbsent(result, r -> new ArrayDeque<>()).addLast(row);
+        }
+
+        @Override
+        public void accept(List<FifaFinalResult> written) {
+            List<Integer> rows = new ArrayList<>(written.size());
+            synchronized (this) {
+                for (FifaFinalResult result : written) {
+                    Deque<Integer> pending = inFlight.get(result);
+                    if (pending != null && !pending.isEmpty()) {
+                        rows.add(pending.pollFirst());
+                    }
+                }
+            }
+            try {
+                journal.recordSent(rows);
+            } catch (IOException e) {
+                System.err.println("WARN: Could not journal " + rows.size() + " written rows as sent: " + e.getMessage());
+            }
+        }
+    }
+
+    private static List<FifaFinalResult> rowsAt(List<FifaFinalResult> results, List<Integer> rows) {
+        List<FifaFinalResult> selected = new ArrayList<>(rows.size());
+        for (Integer row : rows) {
+            selected.add(results.get(row));
+        }
+        return selected;
+    }
+
+    /**
+     * @return hash of the source page as served through the page cache, or null if it is not cached or could not be fetched
+     */
+    private String currentSourceHash() {
+        if (pageCache == null || !(sourceLocation.startsWith("http://") || sourceLocation.startsWith("https://"))) {
+            return null;
+        }
+        try {
+            return pageCache.fetch(sourceLocation).getContentHash();
+        } catch (IOException e) {
+            System.err.println("WARN: Could not check " + sourceLocation + " for changes (" + e.getMessage() + "). Running anyway.");
+            return null;
+        }
+    }
+
+    /**
+     * Lets later --skip-unchanged runs skip the page content this run checked, now that every row of it was decided and written.
+     */
+    private void markSourceProcessed() {
+        if (sourceHash == null) {
+            return;
+        }
+        try {
+            pageCache.markProcessed(sourceLocation, sourceHash);
+        } catch (IOException e) {
+            System.err.println("WARN: Could not record " + sourceLocation + " as processed (" + e.getMessage() + "). The next run will process it again.");
+        }
+    }
+
+    /**
+     * Extracts on a background thread while the user reviews earlier rows, streaming approvals to the sink.
+     * Extraction stays browserless here because the browser is busy showing the review pages.
+     */
+    private void runPipelinedReview(ResultSink resultSink) throws IOException, InterruptedException {
+        FifaResultExtractor extractor = options.getJobsFile() != null
+                ? scrapeJobsExtractor()
+                : new JsoupFifaTableExtractor(sourceLocation, pageCache);
+        ReviewPipeline pipeline = new ReviewPipeline(extractor, NUM_ITERATIONS_TO_ATTEMPT, PIPELINE_QUEUE_CAPACITY);
+        WebDriver reviewDriver = driver();
+        ReviewPipeline.Summary summary = pipeline.run(result -> uiAutomator.getUserChoiceFromWebPage(reviewDriver, result), resultSink);
+        if (summary.getOffered() == 0) {
+            System.err.println("ERROR: No FIFA final results could be extracted from " + sourceLocation + " without a browser. Run without --pipeline to use the Selenium fallback.");
+            return;
+        }
+
+        closeAndReport(resultSink);
+        if (summary.getEndedWith() == null && summary.getExtractionError() == null && resultSink.getFailedRows().isEmpty()) {
+            markSourceProcessed();
+        }
+        System.out.println("\nFinished pipelined run. " + summary.getOffered() + " results were offered for confirmation.");
+        System.out.println(summary.getConfirmed().size() + " results were confirmed by the user for appending, " + resultSink.getRowsWritten() + " were written to " + resultSink + ".");
+    }
+
+    /**
+     * Reads the finals table without a browser first, and only falls back to
+     * Selenium when the static HTML does not yield any rows (e.g. JS-rendered pages).
+     */
+    private FifaResultBatch extractResults() throws IOException, InterruptedException {
+        if (options.getJobsFile() != null) {
+            // Encoded as each job finishes, so only the jobs' own pages are held alongside the batch
+            FifaResultBatch results = new FifaResultBatch();
+            scrapeJobsExtractor().streamResults(NUM_ITERATIONS_TO_ATTEMPT, results::add);
+            return results;
+        }
+        // A single page is mapped in one pass, so its rows are boxed until the table has been read and encoded
+        try {
+            FifaResultBatch results = FifaResultBatch.of(new JsoupFifaTableExtractor(sourceLocation, pageCache).extractResults(NUM_ITERATIONS_TO_ATTEMPT));
+            if (!results.isEmpty()) {
+                System.out.println("Extracted " + results.size() + " results without a browser from: " + sourceLocation);
+                return results;
+            }
+            System.out.println("INFO: Static HTML yielded no results. Falling back to Selenium extraction.");
+        } catch (IOException e) {
+            System.err.println("WARN: Could not load " + sourceLocation + " without a browser (" + e.getMessage() + "). Falling back to Selenium extraction.");
+        }
+        BrowserProfile profile = options.getBrowserProfile();
+        try {
+            WebDriver browser = profile == BrowserProfile.DEFAULT ? driver() : extractionDriver(profile);
+            WebDriverWait extractionWait = profile == BrowserProfile.DEFAULT ? wait : new WebDriverWait(browser, Duration.ofSeconds(10));
+            return FifaResultBatch.of(new SeleniumFifaTableExtractor(browser, extractionWait, toBrowserUrl(sourceLocation), profile).extractResults(NUM_ITERATIONS_TO_ATTEMPT));
+        } finally {
+            // The review never uses the extraction browser, so it is not kept running alongside the review browser
+            closeExtractionDriver();
+        }
+    }
+
+    /**
+     * Starts a browser with the given profile just for extraction; review keeps using {@link #driver()}.
+     */
+    private WebDriver extractionDriver(BrowserProfile profile) throws InterruptedException {
+        if (extractionDriver == null) {
+            long start = System.nanoTime();
+            extractionDriverPool = newChromeDriverPool(1, options.isFastStart(), profile);
+            extractionDriver = extractionDriverPool.lease(DRIVER_LEASE_TIMEOUT);
+            startupTimings.record("browser_" + profile.name().toLowerCase(Locale.ROOT), start);
+        }
+        return extractionDriver.getDriver();
+    }
+
+    private void closeExtractionDriver() {
+        if (extractionDriver != null) {
+            extractionDriver.close();
+            extractionDriver = null;
+        }
+        if (extractionDriverPool != null) {
+            extractionDriverPool.close();
+            extractionDriverPool = null;
+        }
+    }
+
+    /**
+     * Scrapes every page listed in the jobs file concurrently, presenting their results in job order.
+     */
+    private ScrapeJobsExtractor scrapeJobsExtractor() throws IOException {
+        List<ScrapeJob> jobs = ScrapeJob.loadAll(Paths.get(options.getJobsFile()));
+        ScrapeJobRunner runner = new ScrapeJobRunner(MAX_CONCURRENT_JOBS, new HostRateLimiter(PER_HOST_BURST, PER_HOST_REQUESTS_PER_SECOND), pageCache);
+        return new ScrapeJobsExtractor(jobs, runner);
+    }
+
+    /**
+     * Leases the browser the first time a stage needs it.
+     */
+    private WebDriver driver() throws InterruptedException {
+        if (driver == null) {
+            long start = System.nanoTime();
+            pooledDriver = driverPool.lease(DRIVER_LEASE_TIMEOUT);
+            driver = pooledDriver.getDriver();
+            wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+            startupTimings.record("browser", start);
+        }
+        return driver;
+    }
+
+    /**
+     * Loads the Sheets configuration the first time results are about to be written.
+     */
+    private GoogleSheetsWriter sheetsWriter() {
+        if (sheetsWriter == null) {
+            long start = System.nanoTime();
+            sheetsWriter = new GoogleSheetsWriter();
+            startupTimings.record("sheets", start);
+        }
+        return sheetsWriter;
+    }
+
+    /**
+     * Writes the stage timers and counters of this run, with the startup phases as {@code startup_*} timers.
+     */
+    private void exportMetrics() {
+        MetricsRegistry metrics = MetricsRegistry.global();
+        for (Map.Entry<String, Long> phase : startupTimings.getPhaseMillis().entrySet()) {
+            metrics.timer("startup_" + phase.getKey()).record(TimeUnit.MILLISECONDS.toNanos(phase.getValue()));
+        }
+        Path metricsFile = options.getMetricsFile() != null
+                ? Paths.get(options.getMetricsFile())
+                : Paths.get(System.getProperty("user.home"), ".tennr", "last-run.prom");
+        try {
+            MetricsExporter.write(metrics, metricsFile);
+            System.out.println("Run metrics written to " + metricsFile.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("WARN: Could not write run metrics to " + metricsFile + ": " + e.getMessage());
+        }
+    }
+
+    StartupTimings getStartupTimings() {
+        return startupTimings;
+    }
+
+    /**
+     * Builds the sinks named in {@link RunOptions#getSinks()}, fanning out when there are several.
+     * The Sheets configuration is only loaded when {@code sheets} is one of them.
+     */
+    private ResultSink newResultSink() throws IOException {
+        List<String> specs = options.getSinks() == null || options.getSinks().isEmpty()
+                ? Collections.singletonList("sheets")
+                : options.getSinks();
+        List<ResultSink> sinks = new ArrayList<>();
+        try {
+            for (String spec : specs) {
+                if ("sheets".equals(spec)) {
+                    sinks.add(new StreamingSheetsSink(sheetsWriter(), options.isIncrementalSync()));
+                } else if (spec.startsWith("csv:")) {
+                    sinks.add(new CsvFileSink(Paths.get(spec.substring("csv:".length()))));
+                } else if (spec.startsWith("columnar:")) {
+                    sinks.add(new ColumnarFileSink(Paths.get(spec.substring("columnar:".length()))));
+                } else {
+                    throw new IllegalArgumentException("Unknown sink: " + spec + " (expected sheets, csv:<file> or columnar:<file>)");
+                }
             }
+        } catch (IOException | RuntimeException e) {
+            for (ResultSink opened : sinks) {
+                closeQuietly(opened);
+            }
+            throw e;
+        }
+        return sinks.size() == 1 ? sinks.get(0) : new FanOutSink(sinks);
+    }
+
+    private static void closeAndReport(ResultSink resultSink) throws IOException, InterruptedException {
+        System.out.println("\n--- Step 5: Call API (Flushing confirmed results to " + resultSink + ") ---");
+        resultSink.close();
+        if (!resultSink.getFailedRows().isEmpty()) {
+            System.err.println("ERROR: " + resultSink.getFailedRows().size() + " confirmed results could not be written to " + resultSink + ": " + resultSink.getFailedRows());
+        }
+    }
+
+    private static void closeQuietly(RunJournal journal) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            System.err.println("WARN: Could not close the run journal " + journal.getFile() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Makes sure rows already confirmed reach the sinks even when the flow fails half-way.
+     */
+    private static void closeQuietly(ResultSink resultSink) {
+        if (resultSink == null) {
+            return;
+        }
+        try {
+            resultSink.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("WARN: Interrupted while flushing confirmed results to " + resultSink + ".");
+        } catch (IOException e) {
+            System.err.println("WARN: Could not flush confirmed results to " + resultSink + ": " + e.getMessage());
+        }
+    }
+
+    private static String toBrowserUrl(String location) {
+        if (location.startsWith("http://") || location.startsWith("https://")) {
+            return location;
         }
+        return new File(location).toURI().toString();
     }
 
+    /**
+     * @param args {@code [--batch-review | --pipeline] [--no-page-cache] [--no-journal] [--skip-unchanged] [--fast-start] [--browser-profile=default|lean] [--metrics=&lt;file&gt;] [--sink=&lt;spec&gt;...] [--incremental] [--jobs=&lt;file&gt; | source]}, where source is a URL or the path of a saved HTML copy of the finals page
+     */
     public static void main(String[] args) {
-        App app = new App();
+        long mainEnteredMillis = System.currentTimeMillis();
+        long start = System.nanoTime();
+        App app = new App(RunOptions.fromArgs(args));
+        app.getStartupTimings().recordJvmStartup(mainEnteredMillis);
+        app.getStartupTimings().record("init", start);
         app.runFifaDataFlow();
     }
 }
\ No newline at end of file
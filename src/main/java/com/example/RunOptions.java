@@ -0,0 +1,107 @@
+package com.example;
+
+import com.example.driver.BrowserProfile;
+import lombok.Builder;
+import lombok.Data;
+import lombok.Singular;
+
+import java.util.List;
+
+/**
+ * Settings for a single run of {@link App}, usually parsed from the command line.
+ */
+@Data
+@Builder
+public class RunOptions {
+
+    public static final String WIKIPEDIA_URL = "https://en.wikipedia.org/wiki/List_of_FIFA_World_Cup_finals";
+
+    /** URL of the finals page, or the path of a saved HTML copy of it. */
+    @Builder.Default
+    private String sourceLocation = WIKIPEDIA_URL;
+
+    /** Review all extracted results on one page instead of confirming them row by row. */
+    private boolean batchReview;
+
+    /** Extract on a background thread while earlier rows are being reviewed, writing approvals as they come. */
+    private boolean pipelined;
+
+    /** Fetch the source page through the on-disk conditional-GET cache. */
+    @Builder.Default
+    private boolean pageCacheEnabled = true;
+
+    /** Record extracted rows and review decisions in a local journal, so an interrupted run resumes where it stopped. */
+    @Builder.Default
+    private boolean journalEnabled = true;
+
+    /** End the run right away when the cached source page has the same content as the last completed run; not available with {@link #jobsFile}. */
+    private boolean skipIfUnchanged;
+
+    /** JSON file listing several pages to scrape concurrently instead of {@link #sourceLocation}; see {@link com.example.jobs.ScrapeJob#loadAll}. */
+    private String jobsFile;
+
+    /** Reuse the chromedriver path resolved by an earlier run, so startup needs no network access. */
+    private boolean fastStart;
+
+    /**
+     * Browser used when the table has to be extracted with Selenium. Anything but {@link BrowserProfile#DEFAULT}
+     * gets a browser of its own, because review pages always need a visible one.
+     */
+    @Builder.Default
+    private BrowserProfile browserProfile = BrowserProfile.DEFAULT;
+
+    /**
+     * Destinations of confirmed results: {@code sheets}, {@code csv:<file>} or {@code columnar:<file>}.
+     * Every listed sink receives every confirmed result; none listed means {@code sheets} only.
+     */
+    @Singular
+    private List<String> sinks;
+
+    /** Write to Sheets only the results whose year is missing from the sheet or whose row differs, instead of appending every one. */
+    private boolean incrementalSync;
+
+    /** Where the run's stage timings and counters are written; Prometheus text, or JSON for a {@code .json} file. Null for {@code ~/.tennr/last-run.prom}. */
+    private String metricsFile;
+
+    /**
+     * Parses {@code [--batch-review | --pipeline] [--no-page-cache] [--no-journal] [--skip-unchanged] [--fast-start] [--browser-profile=default|lean] [--metrics=&lt;file&gt;] [--sink=&lt;spec&gt;...] [--incremental] [--jobs=&lt;file&gt; | source]}.
+     */
+    public static RunOptions fromArgs(String[] args) {
+        RunOptionsBuilder builder = RunOptions.builder();
+        for (String arg : args) {
+            if ("--batch-review".equals(arg)) {
+                builder.batchReview(true);
+            } else if ("--pipeline".equals(arg)) {
+                builder.pipelined(true);
+            } else if ("--no-page-cache".equals(arg)) {
+                builder.pageCacheEnabled(false);
+            } else if ("--no-journal".equals(arg)) {
+                builder.journalEnabled(false);
+            } else if ("--skip-unchanged".equals(arg)) {
+                builder.skipIfUnchanged(true);
+            } else if ("--fast-start".equals(arg)) {
+                builder.fastStart(true);
+            } else if (arg.startsWith("--browser-profile=")) {
+                builder.browserProfile(BrowserProfile.forName(arg.substring("--browser-profile=".length())));
+            } else if ("--incremental".equals(arg)) {
+                builder.incrementalSync(true);
+            } else if (arg.startsWith("--sink=")) {
+                builder.sink(arg.substring("--sink=".length()));
+            } else if (arg.startsWith("--metrics=")) {
+                builder.metricsFile(arg.substring("--metrics=".length()));
+            } else if (arg.startsWith("--jobs=")) {
+                builder.jobsFile(arg.substring("--jobs=".length()));
+            } else if (arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unknown option: " + arg);
+            } else {
+                builder.sourceLocation(arg);
+            }
+        }
+        RunOptions options = builder.build();
+        if (options.isSkipIfUnchanged() && options.getJobsFile() != null) {
+            // The unchanged check covers the single source page only; the job pages are never hashed
+            throw new IllegalArgumentException("--skip-unchanged cannot be combined with --jobs");
+        }
+        return options;
+    }
+}
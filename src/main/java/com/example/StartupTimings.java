@@ -0,0 +1,46 @@
+package com.example;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Wall-clock time spent in each startup phase of a run (JVM launch, browser start, Sheets setup, ...),
+ * in the order the phases happened.
+ */
+public class StartupTimings {
+
+    private final Map<String, Long> phaseMillis = new LinkedHashMap<>();
+
+    /**
+     * Records the time from JVM start until {@code main} was entered as the "jvm" phase.
+     *
+     * @param mainEnteredMillis {@link System#currentTimeMillis()} taken first thing in {@code main}
+     */
+    public synchronized void recordJvmStartup(long mainEnteredMillis) {
+        phaseMillis.put("jvm", mainEnteredMillis - ManagementFactory.getRuntimeMXBean().getStartTime());
+    }
+
+    /**
+     * @param startNanos {@link System#nanoTime()} taken when the phase began
+     */
+    public synchronized void record(String phase, long startNanos) {
+        phaseMillis.put(phase, (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    public synchronized Map<String, Long> getPhaseMillis() {
+        return new LinkedHashMap<>(phaseMillis);
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder summary = new StringBuilder();
+        for (Map.Entry<String, Long> phase : phaseMillis.entrySet()) {
+            if (summary.length() > 0) {
+                summary.append(", ");
+            }
+            summary.append(phase.getKey()).append('=').append(phase.getValue()).append(" ms");
+        }
+        return summary.toString();
+    }
+}
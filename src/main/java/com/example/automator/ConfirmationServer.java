@@ -0,0 +1,163 @@
+package com.example.automator;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Loopback-only HTTP server that serves confirmation pages from memory and receives the user's choice.
+ * Every published page gets an unguessable path; {@code GET} returns the page and {@code POST} with the
+ * choice as a plain-text body completes the page's {@link Pending#getChoice() future}, so the caller
+ * learns about the click as soon as it happens.
+ */
+class ConfirmationServer implements AutoCloseable {
+
+    private static final String CONTEXT = "/confirm/";
+    private static final int MAX_CHOICE_BYTES = 4 * 1024 * 1024;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, Pending> pages = new ConcurrentHashMap<>();
+
+    private ConfirmationServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts a server on an ephemeral loopback port.
+     */
+    static ConfirmationServer start() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "confirmation-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ConfirmationServer confirmationServer = new ConfirmationServer(server, executor);
+        server.createContext(CONTEXT, confirmationServer::handle);
+        server.setExecutor(executor);
+        server.start();
+        return confirmationServer;
+    }
+
+    /**
+     * Makes {@code html} available until a choice is posted for it or it is {@link #withdraw withdrawn}.
+     */
+    Pending publish(String html) {
+        String id = UUID.randomUUID().toString();
+        Pending pending = new Pending(id, "http://" + server.getAddress().getAddress().getHostAddress() + ":"
+                + server.getAddress().getPort() + CONTEXT + id, html.getBytes(StandardCharsets.UTF_8));
+        pages.put(id, pending);
+        return pending;
+    }
+
+    void withdraw(Pending pending) {
+        pages.remove(pending.id);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        for (Pending pending : pages.values()) {
+            pending.choice.cancel(false);
+        }
+        pages.clear();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            Pending pending = pages.get(exchange.getRequestURI().getPath().substring(CONTEXT.length()));
+            if (pending == null) {
+                respond(exchange, 404, "text/plain; charset=UTF-8", "This confirmation page is no longer active.".getBytes(StandardCharsets.UTF_8));
+            } else if ("GET".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Cache-Control", "no-store");
+                respond(exchange, 200, "text/html; charset=UTF-8", pending.html);
+            } else if ("POST".equals(exchange.getRequestMethod())) {
+                String choice = readBody(exchange.getRequestBody());
+                if (choice == null) {
+                    respond(exchange, 413, null, null);
+                    return;
+                }
+                pages.remove(pending.id);
+                try {
+                    // Answer first: the caller may stop the server as soon as it has the choice
+                    respond(exchange, 204, null, null);
+                    exchange.close();
+                } finally {
+                    pending.choice.complete(choice.trim());
+                }
+            } else {
+                respond(exchange, 405, null, null);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static String readBody(InputStream in) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            if (body.size() + read > MAX_CHOICE_BYTES) {
+                return null;
+            }
+            body.write(buffer, 0, read);
+        }
+        return new String(body.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        if (contentType != null) {
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+        }
+        exchange.sendResponseHeaders(status, body == null ? -1 : body.length);
+        if (body != null) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * A published page waiting for its choice.
+     */
+    static final class Pending {
+        private final String id;
+        private final String url;
+        private final byte[] html;
+        private final CompletableFuture<String> choice = new CompletableFuture<>();
+
+        private Pending(String id, String url, byte[] html) {
+            this.id = id;
+            this.url = url;
+            this.html = html;
+        }
+
+        String getUrl() {
+            return url;
+        }
+
+        /**
+         * @return completes with the posted choice text
+         */
+        CompletableFuture<String> getChoice() {
+            return choice;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.automator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HTML template split once into literal text and {@code {{name}}} slots, so rendering is a single
+ * pass of appends into a presized buffer instead of re-parsing a format string on every page.
+ * Slot values are inserted as given; callers escape them.
+ */
+final class PageTemplate {
+
+    private final String[] literals;
+    private final String[] slots;
+    private final int literalLength;
+
+    private PageTemplate(String[] literals, String[] slots) {
+        this.literals = literals;
+        this.slots = slots;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    static PageTemplate compile(String text) {
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = text.indexOf("{{", position);
+            if (open < 0) {
+                break;
+            }
+            int close = text.indexOf("}}", open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed slot at offset " + open);
+            }
+            literals.add(text.substring(position, open));
+            slots.add(text.substring(open + 2, close));
+            position = close + 2;
+        }
+        literals.add(text.substring(position));
+        return new PageTemplate(literals.toArray(new String[0]), slots.toArray(new String[0]));
+    }
+
+    /**
+     * @throws IllegalArgumentException if a slot has no value
+     */
+    String render(Map<String, String> values) {
+        int length = literalLength;
+        for (String slot : slots) {
+            String value = values.get(slot);
+            if (value == null) {
+                throw new IllegalArgumentException("No value for template slot '" + slot + "'");
+            }
+            length += value.length();
+        }
+        StringBuilder page = new StringBuilder(length);
+        for (int i = 0; i < slots.length; i++) {
+            page.append(literals[i]).append(values.get(slots[i]));
+        }
+        return page.append(literals[slots.length]).toString();
+    }
+}
@@ -1,19 +1,107 @@
 package com.example.automator;
 
+import com.example.metrics.MetricsRegistry;
 import com.example.model.FifaFinalResult; // Import your POJO
 import org.openqa.selenium.By;
-import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
-public class WebUIAutomator {
+/**
+ * Browser interactions of the flow, including the confirmation pages, which are served from an
+ * in-memory local HTTP server and post the user's choice straight back to it.
+ */
+public class WebUIAutomator implements AutoCloseable {
+
+    private static final long CHOICE_TIMEOUT_MINUTES = 5;
+
+    private static final String PAGE_STYLE =
+            "body { font-family: Arial, sans-serif; margin: 20px; background-color: #f4f4f4; color: #333; }" +
+            "h1 { color: #333; border-bottom: 2px solid #007bff; padding-bottom: 10px; }" +
+            ".container { background-color: #fff; padding: 20px; border-radius: 8px; box-shadow: 0 0 10px rgba(0,0,0,0.1); }" +
+            "button { background-color: #007bff; color: white; padding: 10px 20px; margin: 10px 5px 0 0; border: none; border-radius: 5px; cursor: pointer; font-size: 16px; }" +
+            "button:hover { background-color: #0056b3; }" +
+            "#choiceMessage { margin-top: 20px; font-weight: bold; color: green; }";
+
+    // Posts the choice back to the page's own URL on the confirmation server
+    private static final String SEND_CHOICE_SCRIPT =
+            "function sendChoice(choice, message) {" +
+            "  document.getElementById('buttons').style.display = 'none';" +
+            "  var status = document.getElementById('choiceMessage');" +
+            "  fetch(window.location.pathname, { method: 'POST', headers: { 'Content-Type': 'text/plain;charset=UTF-8' }, body: choice })" +
+            "    .then(function (response) {" +
+            "      status.innerText = response.ok ? message + ' Please check your application. This window may close.' : 'This page is no longer active.';" +
+            "    })" +
+            "    .catch(function () { status.innerText = 'Could not reach the application.'; });" +
+            "}";
+
+    private static final PageTemplate CONFIRMATION_PAGE = PageTemplate.compile(
+            "<!DOCTYPE html><html lang='en'><head><meta charset='UTF-8'><title>User Confirmation</title>" +
+                    "<style>" + PAGE_STYLE +
+                    ".data-item { margin-bottom: 10px; } .data-item strong { color: #007bff; }" +
+                    "</style>" +
+                    "<script>" + SEND_CHOICE_SCRIPT +
+                    "function handleChoice(choice) {" +
+                    "  sendChoice(choice, 'You selected: ' + choice.toUpperCase() + '.');" +
+                    "}" +
+                    "</script></head><body><div class='container'>" +
+                    "<h1>Confirm Action for FIFA Final Result</h1>" +
+                    "<div class='data-item'><strong>Year:</strong> {{year}}</div>" +
+                    "<div class='data-item'><strong>Winner:</strong> {{winner}}</div>" +
+                    "<div class='data-item'><strong>Score:</strong> {{score}}</div>" +
+                    "<div class='data-item'><strong>Runner-Up:</strong> {{runnerUp}}</div>" +
+                    "<hr><div id='buttons'>" +
+                    "<button onclick=\"handleChoice('append')\">Yes, Append to Sheet</button>" +
+                    "<button onclick=\"handleChoice('skip')\">No, Skip This Result</button>" +
+                    "<button onclick=\"handleChoice('quit')\">Quit Entire Process</button>" +
+                    "</div><div id='choiceMessage'></div>" +
+                    "</div></body></html>");
+
+    private static final PageTemplate BATCH_REVIEW_PAGE = PageTemplate.compile(
+            "<!DOCTYPE html><html lang='en'><head><meta charset='UTF-8'><title>Batch Confirmation</title>" +
+                    "<style>" + PAGE_STYLE +
+                    "table { border-collapse: collapse; width: 100%; } th, td { text-align: left; padding: 6px 10px; border-bottom: 1px solid #ddd; }" +
+                    "th { color: #007bff; }" +
+                    "</style>" +
+                    "<script>" + SEND_CHOICE_SCRIPT +
+                    "function setAll(checked) {" +
+                    "  var boxes = document.querySelectorAll('.row-choice');" +
+                    "  for (var i = 0; i < boxes.length; i++) { boxes[i].checked = checked; }" +
+                    "}" +
+                    "function submitSelection() {" +
+                    "  var boxes = document.querySelectorAll('.row-choice:checked');" +
+                    "  var picked = [];" +
+                    "  for (var i = 0; i < boxes.length; i++) { picked.push(boxes[i].value); }" +
+                    "  sendChoice('submit:' + picked.join(','), picked.length + ' result(s) selected for appending.');" +
+                    "}" +
+                    "</script></head><body><div class='container'>" +
+                    "<h1>Confirm FIFA Final Results</h1>" +
+                    "<p>Checked rows will be appended to the sheet; unchecked rows are skipped.</p>" +
+                    "<table><thead><tr><th>Append</th><th>Year</th><th>Winner</th><th>Score</th><th>Runner-Up</th></tr></thead>" +
+                    "<tbody>{{rows}}</tbody></table>" +
+                    "<hr><div id='buttons'>" +
+                    "<button onclick=\"setAll(true)\">Select All</button>" +
+                    "<button onclick=\"setAll(false)\">Select None</button>" +
+                    "<button onclick=\"submitSelection()\">Append Selected</button>" +
+                    "<button onclick=\"sendChoice('quit', 'Quit selected.')\">Quit Entire Process</button>" +
+                    "</div><div id='choiceMessage'></div>" +
+                    "</div></body></html>");
+
+    // Started on the first confirmation page
+    private ConfirmationServer confirmationServer;
 
     private WebDriverWait getWait(WebDriver driver, long seconds) {
         return new WebDriverWait(driver, Duration.ofSeconds(seconds));
@@ -74,12 +162,12 @@ public class WebUIAutomator {
     }
 
     /**
-     * Displays data on a temporary HTML page and gets user's choice via button clicks.
+     * Displays data on a page served from memory and gets user's choice via button clicks.
      * This simulates Step 9 (Check Box for confirmation) using a web UI.
      *
      * @param driver WebDriver instance
      * @param data The FifaFinalResult data to display
-     * @return String "append", "skip", "quit", or "timeout"
+     * @return String "append", "skip", "quit", "timeout" if no choice was made in time, or "error" if the page could not be served
      */
     public String getUserChoiceFromWebPage(WebDriver driver, FifaFinalResult data) {
         if (driver == null) {
@@ -88,81 +176,167 @@ public class WebUIAutomator {
             return "skip"; // Default for conceptual run without driver
         }
 
-        String htmlContent = String.format(
-                "<!DOCTYPE html><html lang='en'><head><meta charset='UTF-8'><title>User Confirmation</title>" +
-                        "<style>" +
-                        "body { font-family: Arial, sans-serif; margin: 20px; background-color: #f4f4f4; color: #333; }" +
-                        "h1 { color: #333; border-bottom: 2px solid #007bff; padding-bottom: 10px; }" +
-                        ".container { background-color: #fff; padding: 20px; border-radius: 8px; box-shadow: 0 0 10px rgba(0,0,0,0.1); }" +
-                        ".data-item { margin-bottom: 10px; } .data-item strong { color: #007bff; }" +
-                        "button { background-color: #007bff; color: white; padding: 10px 20px; margin: 10px 5px 0 0; border: none; border-radius: 5px; cursor: pointer; font-size: 16px; }" +
-                        "button:hover { background-color: #0056b3; }" +
-                        "#choiceMessage { margin-top: 20px; font-weight: bold; color: green; }" +
-                        "</style>" +
-                        "<script>" +
-                        "function handleChoice(choice) {" +
-                        "  document.title = 'CHOICE_' + choice;" + // Signal choice via title
-                        "  document.getElementById('buttons').style.display = 'none';" +
-                        "  document.getElementById('choiceMessage').innerText = 'You selected: ' + choice.toUpperCase() + '. Please check your application. This window may close.';"+
-                        "}" +
-                        "</script></head><body><div class='container'>" +
-                        "<h1>Confirm Action for FIFA Final Result</h1>" +
-                        "<div class='data-item'><strong>Year:</strong> %s</div>" +
-                        "<div class='data-item'><strong>Winner:</strong> %s</div>" +
-                        "<div class='data-item'><strong>Score:</strong> %s</div>" +
-                        "<div class='data-item'><strong>Runner-Up:</strong> %s</div>" +
-                        "<hr><div id='buttons'>" +
-                        "<button onclick=\"handleChoice('append')\">Yes, Append to Sheet</button>" +
-                        "<button onclick=\"handleChoice('skip')\">No, Skip This Result</button>" +
-                        "<button onclick=\"handleChoice('quit')\">Quit Entire Process</button>" +
-                        "</div><div id='choiceMessage'></div>" +
-                        "</div></body></html>",
-                escapeHtml(String.valueOf(data.getYear())),
-                escapeHtml(data.getWinner()),
-                escapeHtml(data.getScore()),
-                escapeHtml(data.getRunnerUp())
-        );
-
-        File tempHtmlFile = null;
+        String htmlContent = buildConfirmationPage(data);
+
         try {
-            tempHtmlFile = File.createTempFile("user_choice_fifa_", ".html");
-            try (FileWriter writer = new FileWriter(tempHtmlFile)) {
-                writer.write(htmlContent);
+            String choice = openPageAndAwaitChoice(driver, htmlContent);
+            if (choice == null) {
+                System.err.println("WARN: User did not make a choice on the web page within the time limit (5 minutes).");
+                return "timeout";
             }
+            choice = choice.toLowerCase();
+            System.out.println("INFO: User selected: " + choice);
+            return choice;
 
-            driver.get(tempHtmlFile.toURI().toString());
-            System.out.println("INFO: User confirmation page opened at: " + tempHtmlFile.toURI().toString());
-            System.out.println("INFO: Please interact with the browser window to make your selection.");
+        } catch (IOException e) {
+            System.err.println("ERROR: Could not serve the confirmation page for user choice: " + e.getMessage());
+            return "error";
+        }
+    }
 
-            String choice = "timeout"; // Default if no choice made
-            // Wait for up to 5 minutes for the title to change, indicating a choice
-            WebDriverWait wait = getWait(driver, 300);
-            try {
-                wait.until(d -> d.getTitle().startsWith("CHOICE_"));
-                String title = driver.getTitle();
-                if (title.startsWith("CHOICE_")) {
-                    choice = title.substring("CHOICE_".length()).toLowerCase();
-                    System.out.println("INFO: User selected: " + choice);
-                }
-            } catch (TimeoutException e) {
-                System.err.println("WARN: User did not make a choice on the web page within the time limit (5 minutes). Defaulting to 'skip'.");
-                choice = "skip"; // Or "quit", depending on desired default behavior
+    String buildConfirmationPage(FifaFinalResult data) {
+        Map<String, String> values = new HashMap<>();
+        values.put("year", escapeHtml(String.valueOf(data.getYear())));
+        values.put("winner", escapeHtml(data.getWinner()));
+        values.put("score", escapeHtml(data.getScore()));
+        values.put("runnerUp", escapeHtml(data.getRunnerUp()));
+        return CONFIRMATION_PAGE.render(values);
+    }
+
+    /**
+     * Displays all extracted results on a single review page with one append/skip checkbox per row
+     * and a single submit button, so reviewing a whole batch costs one page render.
+     *
+     * @param driver WebDriver instance
+     * @param results the results to review
+     * @return the results the user left checked, in input order; null if the page was not submitted
+     *         because the user quit, timed out or the page could not be served
+     */
+    public List<FifaFinalResult> getUserSelectionFromBatchPage(WebDriver driver, List<FifaFinalResult> results) {
+        if (driver == null) {
+            System.out.println("[Conceptual] Displaying " + results.size() + " results for batch review.");
+            System.out.println("[Conceptual] Assuming user selected nothing as WebDriver is null.");
+            return new ArrayList<>();
+        }
+
+        try {
+            String choice = openPageAndAwaitChoice(driver, buildBatchReviewPage(results));
+            if (choice == null) {
+                System.err.println("WARN: User did not submit the batch review page within the time limit (5 minutes).");
+                return null;
             }
-            return choice;
+            if ("quit".equalsIgnoreCase(choice)) {
+                System.out.println("INFO: User chose to quit from the batch review page.");
+                return null;
+            }
+            List<FifaFinalResult> selected = parseBatchSelection(choice, results);
+            if (selected == null) {
+                System.err.println("WARN: Ignoring invalid batch review submission: " + choice);
+                return null;
+            }
+            System.out.println("INFO: User selected " + selected.size() + " of " + results.size() + " results for appending.");
+            return selected;
 
         } catch (IOException e) {
-            System.err.println("ERROR: Could not create or write temporary HTML file for user choice: " + e.getMessage());
-            return "skip"; // Default to skip on error
-        } finally {
-            if (tempHtmlFile != null && !tempHtmlFile.delete()) {
-                System.err.println("WARN: Could not delete temporary HTML file: " + tempHtmlFile.getAbsolutePath());
-                // tempHtmlFile.deleteOnExit(); // Alternative
+            System.err.println("ERROR: Could not serve the batch review page: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Parses a "submit:i,j,..." body posted by the batch review page. The page lists the checked rows in
+     * ascending order, each once; any other body is rejected rather than repaired.
+     *
+     * @return the selected results in input order, or null if the body is not a valid submission for these results
+     */
+    static List<FifaFinalResult> parseBatchSelection(String choice, List<FifaFinalResult> results) {
+        if (!choice.startsWith("submit:")) {
+            return null;
+        }
+        List<FifaFinalResult> selected = new ArrayList<>();
+        int previous = -1;
+        for (String index : choice.substring("submit:".length()).split(",")) {
+            if (index.isEmpty()) {
+                continue;
+            }
+            int row;
+            try {
+                row = Integer.parseInt(index.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            if (row <= previous || row >= results.size()) {
+                return null;
+            }
+            previous = row;
+            selected.add(results.get(row));
+        }
+        return selected;
+    }
+
+    String buildBatchReviewPage(List<FifaFinalResult> results) {
+        StringBuilder rows = new StringBuilder(results.size() * 256);
+        for (int i = 0; i < results.size(); i++) {
+            FifaFinalResult data = results.get(i);
+            rows.append("<tr><td><input type='checkbox' class='row-choice' value='").append(i).append("' checked></td>")
+                    .append("<td>").append(escapeHtml(String.valueOf(data.getYear()))).append("</td>")
+                    .append("<td>").append(escapeHtml(data.getWinner())).append("</td>")
+                    .append("<td>").append(escapeHtml(data.getScore())).append("</td>")
+                    .append("<td>").append(escapeHtml(data.getRunnerUp())).append("</td></tr>");
+        }
+        return BATCH_REVIEW_PAGE.render(Collections.singletonMap("rows", rows.toString()));
+    }
+
+    /**
+     * Serves the page from the local confirmation server, opens it and waits up to 5 minutes for the page to post a choice.
+     *
+     * @return the posted choice, or null if no choice was made in time
+     */
+    private String openPageAndAwaitChoice(WebDriver driver, String htmlContent) throws IOException {
+        ConfirmationServer.Pending page = confirmationServer().publish(htmlContent);
+        try {
+            driver.get(page.getUrl());
+            System.out.println("INFO: User confirmation page opened at: " + page.getUrl());
+            System.out.println("INFO: Please interact with the browser window to make your selection.");
+
+            long start = System.nanoTime();
+            try {
+                return page.getChoice().get(CHOICE_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+            } catch (TimeoutException | CancellationException e) {
+                return null;
+            } catch (ExecutionException e) {
+                throw new IOException("Confirmation page failed", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } finally {
+                MetricsRegistry.global().timer(MetricsRegistry.HUMAN_CONFIRMATION).recordSince(start);
             }
+        } finally {
+            confirmationServer().withdraw(page);
+        }
+    }
+
+    private synchronized ConfirmationServer confirmationServer() throws IOException {
+        if (confirmationServer == null) {
+            confirmationServer = ConfirmationServer.start();
+        }
+        return confirmationServer;
+    }
+
+    /**
+     * Stops the local confirmation server, if one was started.
+     */
+    @Override
+    public synchronized void close() {
+        if (confirmationServer != null) {
+            confirmationServer.close();
+            confirmationServer = null;
         }
     }
 
     // Simple HTML escape utility
-    private String escapeHtml(String text) {
+    static String escapeHtml(String text) {
         if (text == null) return "";
         return text.replace("&", "&amp;")
                 .replace("<", "&lt;")
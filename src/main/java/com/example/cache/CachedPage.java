@@ -0,0 +1,20 @@
+package com.example.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A page body as served by {@link PageCache}, with what the cache learned while fetching it.
+ */
+@Getter
+@AllArgsConstructor
+public class CachedPage {
+    private final String url;
+    private final String body;
+    /** SHA-256 of the body, hex encoded. */
+    private final String contentHash;
+    /** True if the origin answered 304 Not Modified and the body came from disk. */
+    private final boolean servedFromCache;
+    /** True if the body has the same hash as the copy stored by a previous fetch. */
+    private final boolean unchanged;
+}
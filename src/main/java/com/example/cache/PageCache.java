@@ -0,0 +1,203 @@
+package com.example.cache;
+
+import org.jsoup.Connection;
+import org.jsoup.Jsoup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * On-disk HTTP page cache using conditional GETs. Every cached URL has a body file and a
+ * properties file with its validators ({@code ETag}, {@code Last-Modified}) and content hash.
+ * Revalidation sends {@code If-None-Match}/{@code If-Modified-Since}; a 304 is answered from disk.
+ * Within one process, a page fetched less than {@code freshFor} ago is reused without any request.
+ * Callers that finish working on a page record its hash with {@link #markProcessed}, so a later run can tell
+ * whether that content was actually handled rather than merely downloaded.
+ */
+public class PageCache {
+
+    private static final String USER_AGENT = "Mozilla/5.0 (compatible; tennr)";
+    private static final int FETCH_TIMEOUT_MILLIS = 10_000;
+    // Hash of the body a run last finished with; kept across downloads until the next markProcessed
+    private static final String PROCESSED_HASH = "processedHash";
+
+    private final Path directory;
+    private final long freshForMillis;
+    private final Map<String, FreshEntry> recentFetches = new ConcurrentHashMap<>();
+
+    /**
+     * @param directory where bodies and validators are stored; created if missing
+     * @param freshFor  how long a page fetched by this instance is reused without revalidation
+     */
+    public PageCache(Path directory, Duration freshFor) {
+        this.directory = directory;
+        this.freshForMillis = freshFor.toMillis();
+    }
+
+    /** Cache under {@code ~/.tennr/page-cache}, reusing pages for one minute within a process. */
+    public static PageCache defaultCache() {
+        return new PageCache(Paths.get(System.getProperty("user.home"), ".tennr", "page-cache"), Duration.ofMinutes(1));
+    }
+
+    /**
+     * Returns the current body of {@code url}, downloading it only if the origin reports a change.
+     *
+     * @throws IOException if the page cannot be fetched and no cached copy applies
+     */
+    public CachedPage fetch(String url) throws IOException {
+        FreshEntry recent = recentFetches.get(url);
+        if (recent != null && System.currentTimeMillis() - recent.fetchedAtMillis < freshForMillis) {
+            return recent.page;
+        }
+
+        String key = sha256(url.getBytes(StandardCharsets.UTF_8));
+        Path bodyFile = directory.resolve(key + ".html");
+        Path metaFile = directory.resolve(key + ".properties");
+        Properties meta = readMeta(metaFile);
+        boolean haveCopy = meta != null && Files.exists(bodyFile);
+
+        Connection connection = Jsoup.connect(url)
+                .userAgent(USER_AGENT)
+                .timeout(FETCH_TIMEOUT_MILLIS)
+                .maxBodySize(0)
+                .ignoreHttpErrors(true);
+        if (haveCopy) {
+            if (meta.getProperty("etag") != null) {
+                connection.header("If-None-Match", meta.getProperty("etag"));
+            }
+            if (meta.getProperty("lastModified") != null) {
+                connection.header("If-Modified-Since", meta.getProperty("lastModified"));
+            }
+        }
+
+        Connection.Response response = connection.execute();
+        CachedPage page;
+        if (response.statusCode() == 304 && haveCopy) {
+            System.out.println("INFO (Page Cache): " + url + " not modified, serving cached copy.");
+            String body = new String(Files.readAllBytes(bodyFile), StandardCharsets.UTF_8);
+            page = new CachedPage(url, body, meta.getProperty("contentHash"), true, true);
+        } else if (response.statusCode() >= 200 && response.statusCode() < 300) {
+            String body = response.body();
+            String contentHash = sha256(body.getBytes(StandardCharsets.UTF_8));
+            boolean unchanged = haveCopy && contentHash.equals(meta.getProperty("contentHash"));
+            store(bodyFile, metaFile, body, contentHash, response.header("ETag"), response.header("Last-Modified"));
+            System.out.println("INFO (Page Cache): Downloaded " + url + (unchanged ? " (content unchanged)." : "."));
+            page = new CachedPage(url, body, contentHash, false, unchanged);
+        } else {
+            throw new IOException("HTTP " + response.statusCode() + " fetching " + url);
+        }
+
+        recentFetches.put(url, new FreshEntry(page, System.currentTimeMillis()));
+        return page;
+    }
+
+    /**
+     * @return true if {@link #markProcessed} was last called for {@code url} with this {@code contentHash}
+     */
+    public boolean isProcessed(String url, String contentHash) throws IOException {
+        Properties meta = readMeta(metaFileOf(url));
+        return meta != null && contentHash.equals(meta.getProperty(PROCESSED_HASH));
+    }
+
+    /**
+     * Records that a run finished working on the content of {@code url} with hash {@code contentHash}.
+     * Call it only once everything derived from that content has been handled. Does nothing for uncached URLs.
+     */
+    public synchronized void markProcessed(String url, String contentHash) throws IOException {
+        Path metaFile = metaFileOf(url);
+        Properties meta = readMeta(metaFile);
+        if (meta == null) {
+            return;
+        }
+        meta.setProperty(PROCESSED_HASH, contentHash);
+        writeMeta(metaFile, meta);
+    }
+
+    private Path metaFileOf(String url) {
+        return directory.resolve(sha256(url.getBytes(StandardCharsets.UTF_8)) + ".properties");
+    }
+
+    private synchronized void store(Path bodyFile, Path metaFile, String body, String contentHash, String etag, String lastModified) throws IOException {
+        Files.createDirectories(directory);
+        Properties previous = readMeta(metaFile);
+        String processedHash = previous == null ? null : previous.getProperty(PROCESSED_HASH);
+        Properties meta = new Properties();
+        meta.setProperty("contentHash", contentHash);
+        if (etag != null) {
+            meta.setProperty("etag", etag);
+        }
+        if (lastModified != null) {
+            meta.setProperty("lastModified", lastModified);
+        }
+        if (processedHash != null) {
+            meta.setProperty(PROCESSED_HASH, processedHash);
+        }
+
+        // Body first, validators last, so stored validators never point at a half-written body
+        writeAtomically(bodyFile, body.getBytes(StandardCharsets.UTF_8));
+        writeMeta(metaFile, meta);
+    }
+
+    private void writeMeta(Path metaFile, Properties meta) throws IOException {
+        Path tempMeta = Files.createTempFile(directory, "meta", ".tmp");
+        try (OutputStream out = Files.newOutputStream(tempMeta)) {
+            meta.store(out, "tennr page cache");
+        }
+        Files.move(tempMeta, metaFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void writeAtomically(Path target, byte[] bytes) throws IOException {
+        Path temp = Files.createTempFile(directory, "body", ".tmp");
+        Files.write(temp, bytes);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Properties readMeta(Path metaFile) throws IOException {
+        if (!Files.exists(metaFile)) {
+            return null;
+        }
+        Properties meta = new Properties();
+        try (InputStream in = Files.newInputStream(metaFile)) {
+            meta.load(in);
+        }
+        return meta;
+    }
+
+    /**
+     * @return lowercase hex SHA-256 of {@code bytes}
+     */
+    public static String sha256(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class FreshEntry {
+        final CachedPage page;
+        final long fetchedAtMillis;
+
+        FreshEntry(CachedPage page, long fetchedAtMillis) {
+            this.page = page;
+            this.fetchedAtMillis = fetchedAtMillis;
+        }
+    }
+}
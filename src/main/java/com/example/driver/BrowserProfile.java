@@ -0,0 +1,68 @@
+package com.example.driver;
+
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+
+import java.util.Locale;
+
+/**
+ * How Chrome is launched. Page-load times of the Selenium extractor are recorded per profile
+ * (see {@link #getPageLoadTimerName()}), so runs with different profiles can be compared.
+ */
+public enum BrowserProfile {
+
+    /** A visible browser that waits for the load event and downloads everything; needed for human review. */
+    DEFAULT,
+
+    /**
+     * Headless, returns from navigation at DOMContentLoaded, and blocks image, font, media and third-party
+     * requests through DevTools network interception. Only for extraction: nobody can click in it.
+     */
+    LEAN;
+
+    public ChromeOptions toChromeOptions() {
+        ChromeOptions options = new ChromeOptions();
+        if (this == LEAN) {
+            options.addArguments("--headless=new", "--blink-settings=imagesEnabled=false");
+            options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+        }
+        return options;
+    }
+
+    /**
+     * Launches Chrome with this profile. chromedriver must already be resolved.
+     */
+    public WebDriver start() {
+        ChromeDriver driver = new ChromeDriver(toChromeOptions());
+        if (this == LEAN) {
+            try {
+                // Lives as long as the browser; quitting the driver ends the DevTools session with it
+                new NetworkInterceptor(driver, new ResourceBlocker());
+            } catch (RuntimeException e) {
+                System.err.println("WARN (Driver): Could not install DevTools request blocking (" + e.getMessage() + "). Continuing with headless eager loading only.");
+            }
+        }
+        return driver;
+    }
+
+    /**
+     * @return the timer the Selenium extractor records this profile's page loads in, next to {@code page_load}
+     */
+    public String getPageLoadTimerName() {
+        return "page_load_" + name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @param name {@code default} or {@code lean}, in any case
+     */
+    public static BrowserProfile forName(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown browser profile: " + name + " (expected default or lean)");
+        }
+    }
+}
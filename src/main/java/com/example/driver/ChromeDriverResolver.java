@@ -0,0 +1,75 @@
+package com.example.driver;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Makes the chromedriver binary known to Selenium, at most once per process.
+ * WebDriverManager resolves the matching driver version over the network on every launch; the
+ * path it resolves is remembered in {@code ~/.tennr/chromedriver.path} so fast-start runs can reuse
+ * it without any network access.
+ */
+public final class ChromeDriverResolver {
+
+    private static final String DRIVER_PROPERTY = "webdriver.chrome.driver";
+    private static final Path CACHE_FILE = Paths.get(System.getProperty("user.home"), ".tennr", "chromedriver.path");
+
+    private static boolean resolved;
+
+    private ChromeDriverResolver() {
+    }
+
+    /**
+     * @param preferCachedPath use the remembered driver path when it still points at an executable,
+     *                         instead of asking WebDriverManager
+     */
+    public static synchronized void resolve(boolean preferCachedPath) {
+        if (resolved) {
+            return;
+        }
+        if (preferCachedPath) {
+            String cachedPath = readCachedPath();
+            if (cachedPath != null && Files.isExecutable(Paths.get(cachedPath))) {
+                System.setProperty(DRIVER_PROPERTY, cachedPath);
+                System.out.println("INFO (Driver): Using cached chromedriver at " + cachedPath);
+                resolved = true;
+                return;
+            }
+        }
+
+        WebDriverManager manager = WebDriverManager.chromedriver();
+        manager.setup();
+        String driverPath = manager.getDownloadedDriverPath();
+        if (driverPath != null) {
+            writeCachedPath(driverPath);
+        }
+        resolved = true;
+    }
+
+    private static String readCachedPath() {
+        try {
+            if (!Files.exists(CACHE_FILE)) {
+                return null;
+            }
+            String path = new String(Files.readAllBytes(CACHE_FILE), StandardCharsets.UTF_8).trim();
+            return path.isEmpty() ? null : path;
+        } catch (IOException e) {
+            System.err.println("WARN (Driver): Could not read " + CACHE_FILE + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void writeCachedPath(String driverPath) {
+        try {
+            Files.createDirectories(CACHE_FILE.getParent());
+            Files.write(CACHE_FILE, driverPath.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            System.err.println("WARN (Driver): Could not remember chromedriver path in " + CACHE_FILE + ": " + e.getMessage());
+        }
+    }
+}
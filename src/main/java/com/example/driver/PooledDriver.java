@@ -0,0 +1,35 @@
+package com.example.driver;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A {@link WebDriver} leased from a {@link WebDriverPool}. Closing the lease hands the session
+ * back to the pool instead of quitting the browser.
+ */
+public class PooledDriver implements AutoCloseable {
+
+    private final WebDriverPool pool;
+    private final WebDriver driver;
+    private final AtomicBoolean returned = new AtomicBoolean();
+
+    PooledDriver(WebDriverPool pool, WebDriver driver) {
+        this.pool = pool;
+        this.driver = driver;
+    }
+
+    public WebDriver getDriver() {
+        if (returned.get()) {
+            throw new IllegalStateException("WebDriver lease was already returned to the pool");
+        }
+        return driver;
+    }
+
+    @Override
+    public void close() {
+        if (returned.compareAndSet(false, true)) {
+            pool.release(driver);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.driver;
+
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DevTools request filter that answers image, font and media requests, and requests to other sites,
+ * with an empty response instead of letting the browser download them.
+ * <p>
+ * Page navigations are always let through, and the site of the latest one (its last two host labels)
+ * is the first party. Resource types are recognised by the {@code Sec-Fetch-Dest} and {@code Accept}
+ * headers, falling back to the file extension.
+ */
+public class ResourceBlocker implements Filter {
+
+    private static final Set<String> BLOCKED_DESTINATIONS = new HashSet<>(Arrays.asList(
+            "image", "font", "audio", "video", "track"));
+    private static final Set<String> BLOCKED_EXTENSIONS = new HashSet<>(Arrays.asList(
+            "png", "jpg", "jpeg", "gif", "webp", "avif", "svg", "ico", "bmp",
+            "woff", "woff2", "ttf", "otf", "eot",
+            "mp4", "webm", "ogg", "ogv", "oga", "mp3", "wav", "m4a"));
+
+    private volatile String firstPartySite;
+    private final AtomicLong blockedRequests = new AtomicLong();
+
+    @Override
+    public HttpHandler apply(HttpHandler next) {
+        return request -> {
+            if (shouldBlock(request)) {
+                blockedRequests.incrementAndGet();
+                return new HttpResponse().setStatus(HttpURLConnection.HTTP_NO_CONTENT);
+            }
+            return next.execute(request);
+        };
+    }
+
+    /**
+     * @return requests answered without reaching the network so far
+     */
+    public long getBlockedRequests() {
+        return blockedRequests.get();
+    }
+
+    boolean shouldBlock(HttpRequest request) {
+        URI uri;
+        try {
+            uri = URI.create(request.getUri());
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        String host = uri.getHost();
+        if (host == null) {
+            // data:, blob: and the like never reach the network
+            return false;
+        }
+        String destination = header(request, "Sec-Fetch-Dest");
+        String accept = header(request, "Accept");
+        if ("document".equals(destination) || (destination.isEmpty() && accept.startsWith("text/html"))) {
+            firstPartySite = siteOf(host);
+            return false;
+        }
+        if (BLOCKED_DESTINATIONS.contains(destination)
+                || accept.startsWith("image/") || accept.startsWith("video/") || accept.startsWith("audio/")
+                || BLOCKED_EXTENSIONS.contains(extensionOf(uri.getPath()))) {
+            return true;
+        }
+        String site = firstPartySite;
+        return site != null && !site.equals(siteOf(host));
+    }
+
+    private static String header(HttpRequest request, String name) {
+        String value = request.getHeader(name);
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String extensionOf(String path) {
+        if (path == null) {
+            return "";
+        }
+        int dot = path.lastIndexOf('.');
+        return dot < path.lastIndexOf('/') + 1 ? "" : path.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Approximates the registrable domain by the last two labels, so {@code en.wikipedia.org} and
+     * {@code wikipedia.org} are one site while {@code upload.wikimedia.org} is another.
+     */
+    static String siteOf(String host) {
+        String lower = host.toLowerCase(Locale.ROOT);
+        if (lower.startsWith("[") || lower.matches("[0-9.]+")) {
+            return lower;
+        }
+        int last = lower.lastIndexOf('.');
+        if (last <= 0) {
+            return lower;
+        }
+        int secondLast = lower.lastIndexOf('.', last - 1);
+        return secondLast < 0 ? lower : lower.substring(secondLast + 1);
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.driver;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Keeps up to {@code maxSize} browser sessions alive so that jobs lease an already started
+ * {@link WebDriver} instead of launching a new browser each time.
+ * Idle sessions are health-checked before they are handed out; returned sessions are reset
+ * (extra windows closed, cookies and site storage cleared, blank page loaded) so no state leaks between leases.
+ * On Chrome the cookies of every domain are cleared over CDP, but site storage (local storage, IndexedDB,
+ * cache) is only cleared for the origin of the page the session was returned on; a lease that visits several
+ * sites leaves the storage of the others behind. Drivers without CDP only lose the current domain's cookies
+ * and, through script, its local and session storage.
+ * The most recently returned session is handed out first, to keep warm sessions in use.
+ */
+public class WebDriverPool implements AutoCloseable {
+
+    private static final String BLANK_PAGE = "about:blank";
+
+    private final Supplier<WebDriver> factory;
+    private final int maxSize;
+    private final Semaphore permits;
+    private final BlockingDeque<WebDriver> idle = new LinkedBlockingDeque<>();
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger alive = new AtomicInteger();
+    private volatile boolean closed;
+
+    /**
+     * @param factory starts a new browser session
+     * @param maxSize most sessions that may exist (and be leased) at once
+     */
+    public WebDriverPool(Supplier<WebDriver> factory, int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Starts sessions ahead of time so the first leases do not pay for browser startup.
+     * Meant to be called before the pool is shared with other threads.
+     *
+     * @param count sessions to have idle; capped at the pool size
+     */
+    public void warmUp(int count) {
+        int target = Math.min(count, maxSize);
+        while (!closed && idle.size() < target && alive.get() < maxSize) {
+            idle.offerLast(create());
+        }
+    }
+
+    /**
+     * Leases a session, starting a new one only if no healthy idle session exists.
+     *
+     * @param timeout how long to wait when all sessions are leased
+     * @throws TimeoutException if no session became available in time
+     */
+    public PooledDriver lease(Duration timeout) throws InterruptedException {
+        if (closed) {
+            throw new IllegalStateException("WebDriver pool is closed");
+        }
+        if (!permits.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+            throw new TimeoutException("No WebDriver available within " + timeout.getSeconds() + " seconds (pool size " + maxSize + ")");
+        }
+        try {
+            WebDriver driver;
+            while ((driver = idle.pollFirst()) != null) {
+                if (isHealthy(driver)) {
+                    return new PooledDriver(this, driver);
+                }
+                System.err.println("WARN (Driver Pool): Discarding an idle WebDriver that failed its health check.");
+                discard(driver);
+            }
+            return new PooledDriver(this, create());
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a leased session, resetting it for the next lease or discarding it if it is broken.
+     */
+    void release(WebDriver driver) {
+        try {
+            if (!closed && reset(driver)) {
+                idle.offerFirst(driver);
+            } else {
+                discard(driver);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /** @return sessions started over the life of the pool, including discarded ones */
+    public int getCreatedCount() {
+        return created.get();
+    }
+
+    /** @return sessions currently open, leased or idle */
+    public int getAliveCount() {
+        return alive.get();
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Quits every idle session; sessions still leased are quit when they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        List<WebDriver> drained = new ArrayList<>();
+        idle.drainTo(drained);
+        for (WebDriver driver : drained) {
+            discard(driver);
+        }
+    }
+
+    private WebDriver create() {
+        WebDriver driver = factory.get();
+        created.incrementAndGet();
+        alive.incrementAndGet();
+        return driver;
+    }
+
+    private static boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static boolean reset(WebDriver driver) {
+        try {
+            Set<String> handles = driver.getWindowHandles();
+            String keep = handles.iterator().next();
+            for (String handle : handles) {
+                if (!handle.equals(keep)) {
+                    driver.switchTo().window(handle);
+                    driver.close();
+                }
+            }
+            driver.switchTo().window(keep);
+            clearBrowsingData(driver);
+            driver.get(BLANK_PAGE);
+            return true;
+        } catch (RuntimeException e) {
+            System.err.println("WARN (Driver Pool): Could not reset a returned WebDriver, discarding it: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static void clearBrowsingData(WebDriver driver) {
+        String origin = originOf(driver.getCurrentUrl());
+        if (driver instanceof HasCdp) {
+            HasCdp cdp = (HasCdp) driver;
+            // deleteAllCookies only reaches the current page's domain; this clears them all
+            cdp.executeCdpCommand("Network.clearBrowserCookies", Collections.<String, Object>emptyMap());
+            if (origin != null) {
+                Map<String, Object> params = new HashMap<>();
+                params.put("origin", origin);
+                params.put("storageTypes", "all");
+                cdp.executeCdpCommand("Storage.clearDataForOrigin", params);
+            }
+            return;
+        }
+        driver.manage().deleteAllCookies();
+        if (origin != null && driver instanceof JavascriptExecutor) {
+            ((JavascriptExecutor) driver).executeScript("window.localStorage.clear(); window.sessionStorage.clear();");
+        }
+    }
+
+    /**
+     * @return scheme, host and port of an http(s) URL, or null for other pages such as about:blank
+     */
+    static String originOf(String url) {
+        if (url == null || !(url.startsWith("http://") || url.startsWith("https://"))) {
+            return null;
+        }
+        try {
+            URI uri = new URI(url);
+            return uri.getScheme() + "://" + uri.getHost() + (uri.getPort() == -1 ? "" : ":" + uri.getPort());
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+
+    private void discard(WebDriver driver) {
+        alive.decrementAndGet();
+        try {
+            driver.quit();
+        } catch (RuntimeException e) {
+            System.err.println("WARN (Driver Pool): Error while quitting a WebDriver: " + e.getMessage());
+        }
+    }
+}
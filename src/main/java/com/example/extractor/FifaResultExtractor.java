@@ -0,0 +1,43 @@
+package com.example.extractor;
+
+import com.example.model.FifaFinalResult;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Source of {@link FifaFinalResult} rows read from the FIFA World Cup finals table.
+ */
+public interface FifaResultExtractor {
+
+    /** Pass as {@code maxRows} to read every row the table has. */
+    int ALL_ROWS = Integer.MAX_VALUE;
+
+    /**
+     * Extracts the results found in the first {@code maxRows} rows of the finals table.
+     * Rows that are missing or only partially filled are skipped.
+     *
+     * @param maxRows number of table rows (header row included) to look at, or {@link #ALL_ROWS}
+     * @return the successfully extracted results, in table order; empty if the table was not found
+     * @throws IOException if the page could not be loaded
+     */
+    List<FifaFinalResult> extractResults(int maxRows) throws IOException;
+
+    /**
+     * Extracts like {@link #extractResults(int)}, but hands every result to {@code callback} as soon as it is
+     * available, so a consumer can start on the first results while later ones are still being fetched.
+     * The default reads everything first; extractors that fetch in several steps override it.
+     */
+    default void streamResults(int maxRows, ResultCallback callback) throws IOException, InterruptedException {
+        for (FifaFinalResult result : extractResults(maxRows)) {
+            callback.accept(result);
+        }
+    }
+
+    /**
+     * Receives results one at a time from {@link #streamResults}; may block, e.g. on a bounded queue.
+     */
+    interface ResultCallback {
+        void accept(FifaFinalResult result) throws InterruptedException;
+    }
+}
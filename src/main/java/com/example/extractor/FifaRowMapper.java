@@ -0,0 +1,32 @@
+package com.example.extractor;
+
+import com.example.model.FifaFinalResult;
+
+/**
+ * Turns the raw cell texts of one finals-table row into a {@link FifaFinalResult},
+ * applying the same completeness and year checks for every extraction path.
+ */
+final class FifaRowMapper {
+
+    private FifaRowMapper() {
+    }
+
+    /**
+     * @param logTag tag used in warnings, e.g. "Jsoup" or "Selenium"
+     * @return the result, or null if a field is missing or the year cannot be parsed
+     */
+    static FifaFinalResult toResult(int rowIndex, String yearText, String winnerName, String scoreText, String runnerUpName, String logTag) {
+        if (yearText.isEmpty() || winnerName.isEmpty() || scoreText.isEmpty() || runnerUpName.isEmpty()) {
+            System.err.println("WARN (" + logTag + "): One or more data fields are empty for row index " + rowIndex +
+                    " (Y:'" + yearText + "', W:'" + winnerName + "', S:'" + scoreText + "', R:'" + runnerUpName + "'). Skipping this row.");
+            return null;
+        }
+        try {
+            int year = Integer.parseInt(yearText.replaceAll("[^0-9]", ""));
+            return new FifaFinalResult(year, winnerName, scoreText, runnerUpName);
+        } catch (NumberFormatException e) {
+            System.err.println("ERROR (" + logTag + "): Could not parse year for row index " + rowIndex + " (Year text: '" + yearText + "'). Skipping this row.");
+            return null;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.extractor;
+
+import com.example.model.FifaFinalResult;
+
+/**
+ * Table schemas for the FIFA World Cup pages we scrape.
+ */
+public final class FifaTableSchemas {
+
+    /**
+     * "List of FIFA World Cup finals": same cells as the {@link com.example.model.FifaDataXPath} patterns,
+     * but found by header name instead of by absolute position.
+     */
+    public static final TableSchema<FifaFinalResult> FINALS = TableSchema.builder(FifaFinalResult::new)
+            .column("Year", "> a", FifaTableSchemas::parseYear, FifaFinalResult::setYear)
+            .column("Winners", "> a", text -> text, FifaFinalResult::setWinner)
+            .column("Score", "> a", text -> text, FifaFinalResult::setScore)
+            .column("Runners-up", "> span > a", text -> text, FifaFinalResult::setRunnerUp)
+            .build();
+
+    private FifaTableSchemas() {
+    }
+
+    /**
+     * Looks a schema up by the name used in job definitions, e.g. "FINALS".
+     *
+     * @throws IllegalArgumentException if no schema has that name
+     */
+    public static TableSchema<FifaFinalResult> forName(String name) {
+        if ("FINALS".equalsIgnoreCase(name)) {
+            return FINALS;
+        }
+        throw new IllegalArgumentException("Unknown table schema: " + name);
+    }
+
+    static Integer parseYear(String text) {
+        return Integer.valueOf(text.replaceAll("[^0-9]", ""));
+    }
+}
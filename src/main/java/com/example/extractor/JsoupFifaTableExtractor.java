@@ -0,0 +1,92 @@
+package com.example.extractor;
+
+import com.example.cache.PageCache;
+import com.example.metrics.MetricsRegistry;
+import com.example.model.FifaFinalResult;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Browserless extractor: fetches the page once (or reads a saved HTML file) and maps
+ * the whole table in a single pass, using {@link FifaTableSchemas#FINALS} unless another schema is given.
+ * Pages that only build the table with JavaScript need {@link SeleniumFifaTableExtractor} instead.
+ */
+public class JsoupFifaTableExtractor implements FifaResultExtractor {
+
+    private static final String USER_AGENT = "Mozilla/5.0 (compatible; tennr)";
+    private static final int FETCH_TIMEOUT_MILLIS = 10_000;
+
+    private static final TableExtractor<FifaFinalResult> FINALS_EXTRACTOR = new TableExtractor<>(FifaTableSchemas.FINALS);
+
+    private final String sourceLocation;
+    private final PageCache pageCache;
+    private final TableExtractor<FifaFinalResult> tableExtractor;
+
+    /**
+     * @param sourceLocation an http(s) URL, or the path of a local HTML file
+     */
+    public JsoupFifaTableExtractor(String sourceLocation) {
+        this(sourceLocation, null);
+    }
+
+    /**
+     * @param sourceLocation an http(s) URL, or the path of a local HTML file
+     * @param pageCache      cache to fetch URLs through, or null to always download them
+     */
+    public JsoupFifaTableExtractor(String sourceLocation, PageCache pageCache) {
+        this(sourceLocation, pageCache, FifaTableSchemas.FINALS);
+    }
+
+    /**
+     * @param sourceLocation an http(s) URL, or the path of a local HTML file
+     * @param pageCache      cache to fetch URLs through, or null to always download them
+     * @param schema         table to read, for pages laid out differently from the finals list
+     */
+    public JsoupFifaTableExtractor(String sourceLocation, PageCache pageCache, TableSchema<FifaFinalResult> schema) {
+        this.sourceLocation = sourceLocation;
+        this.pageCache = pageCache;
+        this.tableExtractor = schema == FifaTableSchemas.FINALS ? FINALS_EXTRACTOR : new TableExtractor<>(schema);
+    }
+
+    @Override
+    public List<FifaFinalResult> extractResults(int maxRows) throws IOException {
+        MetricsRegistry metrics = MetricsRegistry.global();
+        long start = System.nanoTime();
+        Document document = loadDocument();
+        metrics.timer(MetricsRegistry.PAGE_LOAD).recordSince(start);
+        List<FifaFinalResult> results = tableExtractor.extract(document, maxRows);
+        metrics.timer(MetricsRegistry.EXTRACTION).recordSince(start);
+        metrics.add(MetricsRegistry.ROWS_EXTRACTED, results.size());
+        return results;
+    }
+
+    /**
+     * Reads the finals table out of an already parsed document, locating it by its header row.
+     */
+    public static List<FifaFinalResult> extractResults(Document document, int maxRows) {
+        return FINALS_EXTRACTOR.extract(document, maxRows);
+    }
+
+    private Document loadDocument() throws IOException {
+        if (isUrl(sourceLocation) && pageCache != null) {
+            return Jsoup.parse(pageCache.fetch(sourceLocation).getBody(), sourceLocation);
+        }
+        if (isUrl(sourceLocation)) {
+            System.out.println("INFO (Jsoup): Fetching " + sourceLocation);
+            return Jsoup.connect(sourceLocation)
+                    .userAgent(USER_AGENT)
+                    .timeout(FETCH_TIMEOUT_MILLIS)
+                    .get();
+        }
+        System.out.println("INFO (Jsoup): Reading local HTML file " + sourceLocation);
+        return Jsoup.parse(new File(sourceLocation), "UTF-8");
+    }
+
+    static boolean isUrl(String location) {
+        return location.startsWith("http://") || location.startsWith("https://");
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.extractor;
+
+import com.example.driver.BrowserProfile;
+import com.example.metrics.MetricsRegistry;
+import com.example.metrics.Timer;
+import com.example.model.FifaDataXPath;
+import com.example.model.FifaFinalResult;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Browser-based extractor, kept as the fallback for pages whose table is rendered by JavaScript.
+ * The only wait is for the table to become visible. The whole table is then read in a single
+ * {@code executeScript} round trip. Probing the cells row by row is the fallback, used when the script
+ * fails or does not return a list of rows, or when the driver cannot run scripts at all: the rows are
+ * counted once and every cell is probed without waiting, so a missing row or cell is skipped immediately
+ * instead of timing out.
+ */
+public class SeleniumFifaTableExtractor implements FifaResultExtractor {
+
+    /**
+     * Reads up to {@code arguments[1]} rows of the table at XPath {@code arguments[0]} and returns them as
+     * {@code [year, winner, score, runnerUp]} string arrays, or null if the table is missing.
+     * The selectors mirror the {@link FifaDataXPath} cell patterns.
+     */
+    private static final String TABLE_SCRIPT =
+            "var table = document.evaluate(arguments[0], document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;" +
+            "if (!table || table.tBodies.length === 0) { return null; }" +
+            "function text(row, selector) {" +
+            "  var el = row.querySelector(selector);" +
+            "  return el ? el.innerText.trim().replace(/\\n/g, ' ') : '';" +
+            "}" +
+            "var rows = table.tBodies[0].rows;" +
+            "var limit = Math.min(arguments[1], rows.length);" +
+            "var out = [];" +
+            "for (var i = 0; i < limit; i++) {" +
+            "  out.push([" +
+            "    text(rows[i], ':scope > th > a')," +
+            "    text(rows[i], ':scope > td:nth-of-type(1) > a')," +
+            "    text(rows[i], ':scope > td:nth-of-type(2) > a')," +
+            "    text(rows[i], ':scope > td:nth-of-type(3) > span > a')" +
+            "  ]);" +
+            "}" +
+            "return out;";
+
+    private final WebDriver driver;
+    private final WebDriverWait wait;
+    private final String pageUrl;
+    private final BrowserProfile profile;
+
+    public SeleniumFifaTableExtractor(WebDriver driver, WebDriverWait wait, String pageUrl) {
+        this(driver, wait, pageUrl, null);
+    }
+
+    /**
+     * @param profile profile the driver was started with, so page loads are also timed per profile; null if unknown
+     */
+    public SeleniumFifaTableExtractor(WebDriver driver, WebDriverWait wait, String pageUrl, BrowserProfile profile) {
+        this.driver = driver;
+        this.wait = wait;
+        this.pageUrl = pageUrl;
+        this.profile = profile;
+    }
+
+    @Override
+    public List<FifaFinalResult> extractResults(int maxRows) {
+        MetricsRegistry metrics = MetricsRegistry.global();
+        long start = System.nanoTime();
+        List<FifaFinalResult> results = extractAllRows(maxRows);
+        metrics.timer(MetricsRegistry.EXTRACTION).recordSince(start);
+        metrics.add(MetricsRegistry.ROWS_EXTRACTED, results.size());
+        return results;
+    }
+
+    private List<FifaFinalResult> extractAllRows(int maxRows) {
+        long pageLoadStart = System.nanoTime();
+        driver.get(pageUrl);
+        System.out.println("Opened page in browser: " + pageUrl);
+        try {
+            wait.until(ExpectedConditions.visibilityOfElementLocated(By.xpath(FifaDataXPath.TABLE_XPATH)));
+            System.out.println("Target FIFA finals table appears to be initially loaded.");
+        } catch (TimeoutException e) {
+            System.err.println("ERROR: Target FIFA finals table container not found on initial load. XPath: " + FifaDataXPath.TABLE_XPATH + ".");
+            return new ArrayList<>();
+        } finally {
+            long pageLoadNanos = System.nanoTime() - pageLoadStart;
+            MetricsRegistry.global().timer(MetricsRegistry.PAGE_LOAD).record(pageLoadNanos);
+            if (profile != null) {
+                MetricsRegistry.global().timer(profile.getPageLoadTimerName()).record(pageLoadNanos);
+            }
+        }
+
+        if (driver instanceof JavascriptExecutor) {
+            List<FifaFinalResult> scripted = extractWithSingleScript(maxRows);
+            if (scripted != null) {
+                return scripted;
+            }
+            System.out.println("INFO (Selenium): Falling back to reading the table cell by cell.");
+        }
+        return extractWithProbes(maxRows);
+    }
+
+    /**
+     * Fallback path: the table is there, so its rows are too; count them once and probe cells without waiting.
+     */
+    private List<FifaFinalResult> extractWithProbes(int maxRows) {
+        List<FifaFinalResult> results = new ArrayList<>();
+        List<WebElement> rows = driver.findElements(By.xpath(FifaDataXPath.ROWS_XPATH));
+        int rowCount = Math.min(maxRows, rows.size());
+        System.out.println("INFO (Selenium): Finals table has " + rows.size() + " rows; reading " + rowCount + " of them.");
+        Timer elementProbe = MetricsRegistry.global().timer(MetricsRegistry.ELEMENT_WAIT);
+
+        for (int rowIndex = 1; rowIndex <= rowCount; rowIndex++) {
+            WebElement row = rows.get(rowIndex - 1);
+            try {
+                FifaFinalResult result = FifaRowMapper.toResult(rowIndex,
+                        probeText(elementProbe, row, FifaDataXPath.YEAR),
+                        probeText(elementProbe, row, FifaDataXPath.WINNER),
+                        probeText(elementProbe, row, FifaDataXPath.SCORE).replace("\n", " "),
+                        probeText(elementProbe, row, FifaDataXPath.RUNNER_UP),
+                        "Selenium");
+                if (result != null) {
+                    System.out.println("Successfully extracted: " + result.toString());
+                    results.add(result);
+                }
+            } catch (StaleElementReferenceException e) {
+                System.err.println("WARN (Selenium): Row index " + rowIndex + " changed while it was being read. Skipping this row index.");
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Returns the trimmed text of the row's cell for {@code field}, or "" right away when the cell is missing.
+     * Relies on the driver's implicit wait being zero (the WebDriver default).
+     */
+    private static String probeText(Timer elementProbe, WebElement row, FifaDataXPath field) {
+        long start = System.nanoTime();
+        try {
+            List<WebElement> cells = row.findElements(By.xpath(field.getCellXPath()));
+            return cells.isEmpty() ? "" : cells.get(0).getText().trim();
+        } finally {
+            elementProbe.recordSince(start);
+        }
+    }
+
+    /**
+     * Pulls all requested rows in one {@code executeScript} call, so the cost no longer grows with the row count.
+     *
+     * @return the extracted results, or null if the script failed or returned no row list
+     */
+    private List<FifaFinalResult> extractWithSingleScript(int maxRows) {
+        List<FifaFinalResult> results = new ArrayList<>();
+        Object raw;
+        try {
+            raw = ((JavascriptExecutor) driver).executeScript(TABLE_SCRIPT, FifaDataXPath.TABLE_XPATH, maxRows);
+        } catch (WebDriverException e) {
+            System.err.println("WARN (Selenium): Table script failed: " + e.getMessage());
+            return null;
+        }
+        if (!(raw instanceof List)) {
+            System.err.println("WARN (Selenium): Table script returned no rows for XPath " + FifaDataXPath.TABLE_XPATH + ".");
+            return null;
+        }
+
+        List<?> rows = (List<?>) raw;
+        for (int i = 0; i < rows.size(); i++) {
+            if (!(rows.get(i) instanceof List)) {
+                System.err.println("WARN (Selenium): Table script returned no cells for row index " + (i + 1) + ". Skipping this row.");
+                continue;
+            }
+            List<?> cells = (List<?>) rows.get(i);
+            FifaFinalResult result = FifaRowMapper.toResult(i + 1,
+                    cellText(cells, 0), cellText(cells, 1), cellText(cells, 2), cellText(cells, 3), "Selenium");
+            if (result != null) {
+                System.out.println("Successfully extracted: " + result.toString());
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * @return the trimmed text of cell {@code column}, or "" when the script left it out or returned null,
+     *         so {@link FifaRowMapper} skips the row like a missing cell
+     */
+    private static String cellText(List<?> cells, int column) {
+        Object cell = column < cells.size() ? cells.get(column) : null;
+        return cell == null ? "" : cell.toString().trim();
+    }
+}
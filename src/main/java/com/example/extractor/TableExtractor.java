@@ -0,0 +1,116 @@
+package com.example.extractor;
+
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps the rows of an HTML table into objects according to a {@link TableSchema}.
+ * The table is located by its header row instead of by position on the page, and the
+ * column indexes are resolved once per table rather than once per cell.
+ * Cells spanning several columns or rows are not expanded, so schema columns should
+ * come before any such cells in the row.
+ *
+ * @param <T> type of the row objects
+ */
+public class TableExtractor<T> {
+
+    private final TableSchema<T> schema;
+
+    public TableExtractor(TableSchema<T> schema) {
+        this.schema = schema;
+    }
+
+    /**
+     * Extracts the rows of the first table under {@code root} whose header row contains every schema column.
+     *
+     * @param maxRows number of table rows (header row included) to look at
+     * @return the mapped rows in table order; empty if no matching table was found
+     */
+    public List<T> extract(Element root, int maxRows) {
+        List<T> results = new ArrayList<>();
+        for (Element table : root.select("table")) {
+            Elements rows = table.select("> thead > tr, > tbody > tr, > tr");
+            if (rows.isEmpty()) {
+                continue;
+            }
+            int[] columnIndexes = resolveColumnIndexes(rows.first());
+            if (columnIndexes == null) {
+                continue;
+            }
+
+            int rowCount = Math.min(maxRows, rows.size());
+            for (int i = 1; i < rowCount; i++) {
+                T result = toRow(rows.get(i), i + 1, columnIndexes);
+                if (result != null) {
+                    results.add(result);
+                }
+            }
+            return results;
+        }
+        System.err.println("WARN (Table): No table found with header columns " + headerNames() + ".");
+        return results;
+    }
+
+    /**
+     * @return the cell index of every schema column in order, or null if the header row lacks one of them
+     */
+    private int[] resolveColumnIndexes(Element headerRow) {
+        Map<String, Integer> indexByHeader = new HashMap<>();
+        Elements headerCells = headerRow.children();
+        for (int i = 0; i < headerCells.size(); i++) {
+            indexByHeader.putIfAbsent(TableSchema.normalizeHeader(headerCells.get(i).text()), i);
+        }
+
+        List<TableSchema.Column<T, ?>> columns = schema.getColumns();
+        int[] columnIndexes = new int[columns.size()];
+        for (int c = 0; c < columns.size(); c++) {
+            Integer index = indexByHeader.get(columns.get(c).normalizedHeader);
+            if (index == null) {
+                return null;
+            }
+            columnIndexes[c] = index;
+        }
+        return columnIndexes;
+    }
+
+    private T toRow(Element row, int rowIndex, int[] columnIndexes) {
+        Elements cells = row.children();
+        List<TableSchema.Column<T, ?>> columns = schema.getColumns();
+        T result = schema.getRowFactory().get();
+
+        for (int c = 0; c < columns.size(); c++) {
+            TableSchema.Column<T, ?> column = columns.get(c);
+            String text = "";
+            if (columnIndexes[c] < cells.size()) {
+                Element cell = cells.get(columnIndexes[c]);
+                Element target = column.selector == null ? cell : cell.selectFirst(column.selector);
+                text = target == null ? "" : target.text().trim();
+            }
+            if (text.isEmpty()) {
+                System.err.println("WARN (Table): Column '" + column.header + "' is empty for row index " + rowIndex + ". Skipping this row.");
+                return null;
+            }
+            try {
+                column.apply(result, text);
+            } catch (RuntimeException e) {
+                System.err.println("ERROR (Table): Could not convert column '" + column.header + "' for row index " + rowIndex +
+                        " (text: '" + text + "'): " + e.getMessage() + ". Skipping this row.");
+                return null;
+            }
+        }
+        return result;
+    }
+
+    private List<String> headerNames() {
+        List<String> names = new ArrayList<>();
+        for (TableSchema.Column<T, ?> column : schema.getColumns()) {
+            names.add(column.header);
+        }
+        return names;
+    }
+}
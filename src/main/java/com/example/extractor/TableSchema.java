@@ -0,0 +1,105 @@
+package com.example.extractor;
+
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Declarative description of an HTML table: which header names to look for, what to read
+ * inside each matching cell, and how to convert and store that value on a row object.
+ * Cell selectors are compiled once when the schema is built.
+ *
+ * <pre>
+ * TableSchema&lt;FifaFinalResult&gt; schema = TableSchema.builder(FifaFinalResult::new)
+ *         .column("Year", "&gt; a", Integer::valueOf, FifaFinalResult::setYear)
+ *         .build();
+ * </pre>
+ *
+ * @param <T> type of the object every table row is mapped into
+ */
+public final class TableSchema<T> {
+
+    private final Supplier<T> rowFactory;
+    private final List<Column<T, ?>> columns;
+
+    private TableSchema(Supplier<T> rowFactory, List<Column<T, ?>> columns) {
+        this.rowFactory = rowFactory;
+        this.columns = Collections.unmodifiableList(new ArrayList<>(columns));
+    }
+
+    public static <T> Builder<T> builder(Supplier<T> rowFactory) {
+        return new Builder<>(rowFactory);
+    }
+
+    Supplier<T> getRowFactory() {
+        return rowFactory;
+    }
+
+    List<Column<T, ?>> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Lower-cases a header text and drops footnote markers such as "[a]" so it can be compared to a column name.
+     */
+    static String normalizeHeader(String text) {
+        return text.replaceAll("\\[[^\\]]*]", "").trim().toLowerCase(Locale.ROOT);
+    }
+
+    public static final class Builder<T> {
+        private final Supplier<T> rowFactory;
+        private final List<Column<T, ?>> columns = new ArrayList<>();
+
+        private Builder(Supplier<T> rowFactory) {
+            this.rowFactory = rowFactory;
+        }
+
+        /**
+         * @param header       text of the header cell that identifies the column (case-insensitive)
+         * @param cellSelector CSS selector evaluated relative to the cell, e.g. {@code "> span > a"};
+         *                     its first match supplies the text. Use {@code ""} to read the cell itself.
+         * @param converter    turns the trimmed text into the value to store
+         * @param setter       stores the converted value on the row object
+         */
+        public <V> Builder<T> column(String header, String cellSelector, Function<String, ? extends V> converter, BiConsumer<T, ? super V> setter) {
+            Evaluator selector = cellSelector.isEmpty() ? null : QueryParser.parse(cellSelector);
+            columns.add(new Column<>(header, normalizeHeader(header), selector, converter, setter));
+            return this;
+        }
+
+        public TableSchema<T> build() {
+            if (columns.isEmpty()) {
+                throw new IllegalStateException("A table schema needs at least one column");
+            }
+            return new TableSchema<>(rowFactory, columns);
+        }
+    }
+
+    static final class Column<T, V> {
+        final String header;
+        final String normalizedHeader;
+        final Evaluator selector;
+        private final Function<String, ? extends V> converter;
+        private final BiConsumer<T, ? super V> setter;
+
+        private Column(String header, String normalizedHeader, Evaluator selector,
+                       Function<String, ? extends V> converter, BiConsumer<T, ? super V> setter) {
+            this.header = header;
+            this.normalizedHeader = normalizedHeader;
+            this.selector = selector;
+            this.converter = converter;
+            this.setter = setter;
+        }
+
+        void apply(T row, String text) {
+            setter.accept(row, converter.apply(text));
+        }
+    }
+}
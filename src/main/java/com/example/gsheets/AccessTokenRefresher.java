@@ -0,0 +1,87 @@
+package com.example.gsheets;
+
+import com.google.api.client.auth.oauth2.Credential;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the access token of a shared credential valid without making callers wait on each other.
+ * The expiry is read from a volatile field, so the common case takes no lock. Once the token is within
+ * {@code refreshMarginMillis} of expiring, one background refresh is started while callers keep using the
+ * still valid token; only a token that is missing or about to expire is refreshed by the caller, and then by
+ * one caller at a time.
+ */
+class AccessTokenRefresher {
+
+    private final Credential credential;
+    private final long refreshMarginMillis;
+    private final long minValidityMillis;
+
+    private final Object refreshLock = new Object();
+    private final AtomicBoolean backgroundRefreshRunning = new AtomicBoolean();
+    // 0 until the first token has been fetched
+    private volatile long expiresAtMillis;
+
+    /**
+     * @param refreshMarginMillis how long before expiry a background refresh starts
+     * @param minValidityMillis   least validity a token must have left to be handed out without a blocking refresh
+     */
+    AccessTokenRefresher(Credential credential, long refreshMarginMillis, long minValidityMillis) {
+        this.credential = credential;
+        this.refreshMarginMillis = refreshMarginMillis;
+        this.minValidityMillis = minValidityMillis;
+    }
+
+    /**
+     * Makes sure the credential holds a token valid for at least {@code minValidityMillis}.
+     *
+     * @throws IOException if a needed refresh fails
+     */
+    void ensureFresh() throws IOException {
+        long remaining = expiresAtMillis - System.currentTimeMillis();
+        if (remaining > refreshMarginMillis) {
+            return;
+        }
+        if (remaining > minValidityMillis) {
+            refreshInBackground();
+            return;
+        }
+        synchronized (refreshLock) {
+            // Another caller may have refreshed while this one waited
+            if (expiresAtMillis - System.currentTimeMillis() > minValidityMillis) {
+                return;
+            }
+            refresh();
+        }
+    }
+
+    private void refreshInBackground() {
+        if (!backgroundRefreshRunning.compareAndSet(false, true)) {
+            return;
+        }
+        Thread refresher = new Thread(() -> {
+            try {
+                synchronized (refreshLock) {
+                    if (expiresAtMillis - System.currentTimeMillis() <= refreshMarginMillis) {
+                        refresh();
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                System.err.println("WARN (Sheets Auth): Background token refresh failed (" + e.getMessage() + "). Will retry before the token expires.");
+            } finally {
+                backgroundRefreshRunning.set(false);
+            }
+        }, "sheets-token-refresh");
+        refresher.setDaemon(true);
+        refresher.start();
+    }
+
+    private void refresh() throws IOException {
+        if (!credential.refreshToken()) {
+            throw new IOException("Could not obtain an access token");
+        }
+        Long expiresAt = credential.getExpirationTimeMilliseconds();
+        expiresAtMillis = expiresAt == null ? Long.MAX_VALUE : expiresAt;
+    }
+}
@@ -1,10 +1,17 @@
 package com.example.gsheets;
 
+import com.example.metrics.MetricsRegistry;
+import com.example.metrics.Timer;
 import com.example.model.FifaFinalResult;
+import com.example.model.FifaResultBatch;
 import com.google.api.services.sheets.v4.Sheets;
+import com.google.api.services.sheets.v4.model.AppendValuesResponse;
+import com.google.api.services.sheets.v4.model.BatchUpdateValuesRequest;
 import com.google.api.services.sheets.v4.model.ValueRange;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 
 
 import java.io.IOException;
@@ -14,11 +21,15 @@ import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class GoogleSheetsWriter {
 
     private static final String PROPERTIES_FILE_PATH = "/google.sheets.properties.json";
+    private static final List<Object> HEADER_ROW = Collections.unmodifiableList(Arrays.<Object>asList("Year", "Winner", "Score", "Runner-Up"));
     private static String SPREADSHEET_ID;
     private static String SHEET_NAME;
     static {
@@ -53,9 +64,52 @@ public class GoogleSheetsWriter {
         }
     }
 
+    private final Sheets service;
+    private final String spreadsheetId;
+    private final String sheetName;
+    private final SheetsWriteScheduler scheduler;
+
+    /**
+     * Writes to the spreadsheet configured in {@value #PROPERTIES_FILE_PATH} through the shared client
+     * from {@link SheetsServiceUtil#getSheetsService()}.
+     */
+    public GoogleSheetsWriter() {
+        this(null, SPREADSHEET_ID, SHEET_NAME);
+    }
+
+    /**
+     * @param service       client to use, or null to use the shared one from {@link SheetsServiceUtil}
+     * @param spreadsheetId target spreadsheet
+     * @param sheetName     target sheet (tab) name
+     */
+    public GoogleSheetsWriter(Sheets service, String spreadsheetId, String sheetName) {
+        this(service, spreadsheetId, sheetName, SheetsWriteScheduler.shared());
+    }
+
+    /**
+     * @param service       client to use, or null to use the shared one from {@link SheetsServiceUtil}
+     * @param spreadsheetId target spreadsheet
+     * @param sheetName     target sheet (tab) name
+     * @param scheduler     paces and coalesces appends, or null to send each append straight away
+     */
+    public GoogleSheetsWriter(Sheets service, String spreadsheetId, String sheetName, SheetsWriteScheduler scheduler) {
+        this.service = service;
+        this.spreadsheetId = spreadsheetId;
+        this.sheetName = sheetName;
+        this.scheduler = scheduler;
+    }
+
+    String getSpreadsheetId() {
+        return spreadsheetId;
+    }
+
+    String getSheetName() {
+        return sheetName;
+    }
+
     public boolean appendResults(List<FifaFinalResult> results) {
-        if (SPREADSHEET_ID == null || SPREADSHEET_ID.contains("FALLBACK") || SPREADSHEET_ID.contains("MISSING") || SPREADSHEET_ID.contains("ERROR")) {
-            System.err.println("ERROR (Call API): SPREADSHEET_ID is not configured correctly or failed to load. Current value: " + SPREADSHEET_ID);
+        if (spreadsheetId == null || spreadsheetId.contains("FALLBACK") || spreadsheetId.contains("MISSING") || spreadsheetId.contains("ERROR")) {
+            System.err.println("ERROR (Call API): SPREADSHEET_ID is not configured correctly or failed to load. Current value: " + spreadsheetId);
             System.err.println("Please check '" + PROPERTIES_FILE_PATH + "' in your resources directory.");
             return false;
         }
@@ -65,54 +119,291 @@ public class GoogleSheetsWriter {
         }
 
         try {
-            Sheets service = SheetsServiceUtil.getSheetsService(); // Assumes SheetsServiceUtil is correctly set up for auth
+            appendResultsOrThrow(results);
+            return true;
+
+        } catch (IOException | GeneralSecurityException e) {
+            System.err.println("ERROR (Call API): Failed to connect or authorize Google Sheets: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        } catch (Exception e) {
+            System.err.println("ERROR (Call API): Failed to append data to Google Sheets: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Same as {@link #appendResults(List)} but lets API failures propagate, so callers can
+     * inspect them (e.g. the HTTP status of a {@link com.google.api.client.http.HttpResponseException})
+     * and decide whether to retry.
+     */
+    public void appendResultsOrThrow(List<FifaFinalResult> results) throws IOException, GeneralSecurityException {
+        appendRowsOrThrow(toRows(results));
+        forgetRowIndex();
+    }
+
+    /**
+     * Appends a columnar batch, sending its {@link FifaResultBatch#asSheetRows() row view} without copying it into boxed rows first.
+     */
+    public void appendBatchOrThrow(FifaResultBatch batch) throws IOException, GeneralSecurityException {
+        appendRowsOrThrow(batch.asSheetRows());
+        forgetRowIndex();
+    }
+
+    /**
+     * Appends the results the sheet does not already show with the same values, after reading the sheet again.
+     * Meant for retrying an append whose outcome is unknown (a 5xx or a timeout once the request was sent):
+     * rows that landed the first time are not written twice, and unlike {@link #syncResultsOrThrow} no
+     * existing row is overwritten.
+     *
+     * @return number of results appended
+     */
+    public int appendMissingResultsOrThrow(List<FifaFinalResult> results) throws IOException, GeneralSecurityException {
+        SheetMetadata metadata = SheetMetadataCache.forSheet(spreadsheetId, sheetName);
+        synchronized (metadata.getSyncLock()) {
+            // A cached index cannot know whether the failed request landed
+            metadata.setRowIndex(null);
+            SheetRowIndex index = rowIndex(metadata);
+            List<List<Object>> missing = new ArrayList<>();
+            for (List<Object> row : toRows(results)) {
+                SheetRowIndex.Row existing = index.get(SheetRowIndex.keyOf(row.get(0)));
+                if (existing == null || !existing.matches(row)) {
+                    missing.add(row);
+                }
+            }
+            if (!missing.isEmpty()) {
+                appendRowsOrThrow(missing);
+            }
+            metadata.setRowIndex(null);
+            System.out.println("INFO (Call API): Re-sent " + missing.size() + " of " + results.size() + " results not yet in sheet '" + sheetName + "'.");
+            return missing.size();
+        }
+    }
+
+    /**
+     * Makes the next sync read the sheet again, e.g. because plain appends do not keep the sync index up to date
+     * or a failed request may have changed the sheet anyway.
+     */
+    void forgetRowIndex() {
+        SheetMetadataCache.forSheet(spreadsheetId, sheetName).setRowIndex(null);
+    }
+
+    /**
+     * Writes only what the sheet does not show yet: results whose year is not in the sheet are appended,
+     * and rows whose year is there but whose score or teams differ are overwritten in one {@code batchUpdate}.
+     * The year column is read once per process into an index that later syncs keep up to date, so a repeated
+     * run costs that one read plus whatever actually changed.
+     * Assumes nothing else edits the sheet meanwhile; {@link SheetMetadataCache#invalidate} forces a re-read.
+     */
+    public SyncSummary syncResultsOrThrow(List<FifaFinalResult> results) throws IOException, GeneralSecurityException {
+        SheetMetadata metadata = SheetMetadataCache.forSheet(spreadsheetId, sheetName);
+        synchronized (metadata.getSyncLock()) {
+            SheetRowIndex index = rowIndex(metadata);
+
+            // Keyed by year, so a year repeated within the results is written once, with its last values
+            Map<String, List<Object>> newRows = new LinkedHashMap<>();
+            Map<Integer, List<Object>> changedRows = new LinkedHashMap<>();
+            int unchanged = 0;
+            for (List<Object> row : toRows(results)) {
+                String key = SheetRowIndex.keyOf(row.get(0));
+                SheetRowIndex.Row existing = index.get(key);
+                if (existing == null) {
+                    newRows.put(key, row);
+                } else if (existing.matches(row)) {
+                    unchanged++;
+                } else {
+                    changedRows.put(existing.getRowNumber(), row);
+                }
+            }
+
+            try {
+                if (!newRows.isEmpty()) {
+                    int firstRow = appendRowsOrThrow(new ArrayList<>(newRows.values()));
+                    if (firstRow < 0) {
+                        // Cannot tell where the rows went; read the sheet again on the next sync
+                        metadata.setRowIndex(null);
+                    } else {
+                        int rowNumber = firstRow;
+                        for (Map.Entry<String, List<Object>> row : newRows.entrySet()) {
+                            index.put(row.getKey(), rowNumber++, row.getValue());
+                        }
+                    }
+                }
+                if (!changedRows.isEmpty()) {
+                    updateRows(changedRows);
+                    for (Map.Entry<Integer, List<Object>> row : changedRows.entrySet()) {
+                        index.put(SheetRowIndex.keyOf(row.getValue().get(0)), row.getKey(), row.getValue());
+                    }
+                }
+            } catch (IOException | GeneralSecurityException | RuntimeException e) {
+                // A failed request may still have reached the sheet, so the index can no longer be trusted;
+                // the next sync reads the sheet again instead of appending the same years twice
+                metadata.setRowIndex(null);
+                throw e;
+            }
 
-            // --- Step 6: Detour (Conditional: Check if sheet is empty to add headers) ---
-            String checkRange = SHEET_NAME + "!A1"; // Use loaded SHEET_NAME
-            ValueRange existingDataResponse = service.spreadsheets().values()
-                    .get(SPREADSHEET_ID, checkRange) // Use loaded SPREADSHEET_ID
+            MetricsRegistry.global().add(MetricsRegistry.ROWS_UPDATED, changedRows.size());
+            MetricsRegistry.global().add(MetricsRegistry.ROWS_UNCHANGED, unchanged);
+            System.out.println("INFO (Call API Sync): " + newRows.size() + " new, " + changedRows.size() + " changed, " + unchanged + " unchanged results for sheet '" + sheetName + "'.");
+            return new SyncSummary(newRows.size(), changedRows.size(), unchanged);
+        }
+    }
+
+    /**
+     * Reads the sheet's rows into the year index the first time a sync needs it.
+     */
+    private SheetRowIndex rowIndex(SheetMetadata metadata) throws IOException, GeneralSecurityException {
+        SheetRowIndex index = metadata.getRowIndex();
+        if (index != null) {
+            return index;
+        }
+        Sheets service = this.service != null ? this.service : SheetsServiceUtil.getSheetsService();
+        long start = System.nanoTime();
+        ValueRange existing;
+        try {
+            existing = service.spreadsheets().values()
+                    .get(spreadsheetId, sheetName + "!A:D")
                     .execute();
+        } finally {
+            MetricsRegistry.global().timer(MetricsRegistry.SHEETS_API_CALL).recordSince(start);
+        }
+        List<List<Object>> values = existing.getValues();
+        synchronized (metadata) {
+            // The read doubles as the header probe
+            metadata.loadFromFirstRow(values == null || values.isEmpty() ? null : values.get(0));
+            index = SheetRowIndex.fromValues(values, metadata.isHeaderPresent());
+            metadata.setRowIndex(index);
+        }
+        System.out.println("INFO (Call API Sync): Indexed " + index.size() + " existing years of sheet '" + sheetName + "'.");
+        return index;
+    }
 
-            boolean isSheetEffectivelyEmpty = existingDataResponse.getValues() == null ||
-                    existingDataResponse.getValues().isEmpty() ||
-                    (existingDataResponse.getValues().get(0) != null &&
-                            existingDataResponse.getValues().get(0).isEmpty());
+    /**
+     * Overwrites the given rows (keyed by sheet row number) in a single {@code values.batchUpdate} request.
+     */
+    private void updateRows(Map<Integer, List<Object>> rows) throws IOException, GeneralSecurityException {
+        Sheets service = this.service != null ? this.service : SheetsServiceUtil.getSheetsService();
+        List<ValueRange> data = new ArrayList<>(rows.size());
+        for (Map.Entry<Integer, List<Object>> row : rows.entrySet()) {
+            data.add(new ValueRange()
+                    .setRange(sheetName + "!A" + row.getKey() + ":D" + row.getKey())
+                    .setValues(Collections.singletonList(row.getValue())));
+        }
+        if (scheduler != null) {
+            scheduler.awaitPermit(this);
+        }
+        long start = System.nanoTime();
+        try {
+            service.spreadsheets().values()
+                    .batchUpdate(spreadsheetId, new BatchUpdateValuesRequest().setValueInputOption("USER_ENTERED").setData(data))
+                    .execute();
+        } finally {
+            MetricsRegistry.global().timer(MetricsRegistry.SHEETS_API_CALL).recordSince(start);
+        }
+    }
 
-            List<List<Object>> rowsToAppend = new ArrayList<>();
-            if (isSheetEffectivelyEmpty) {
-                System.out.println("INFO (Call API Detour): Sheet '" + SHEET_NAME + "' appears empty, adding header row.");
-                rowsToAppend.add(Arrays.asList("Year", "Winner", "Score", "Runner-Up"));
-            } else {
-                System.out.println("INFO (Call API Detour): Sheet '" + SHEET_NAME + "' has data, not adding header row.");
+    /**
+     * @return the sheet row number of the first appended row, or -1 if the API did not report it
+     */
+    private int appendRowsOrThrow(List<List<Object>> rows) throws IOException, GeneralSecurityException {
+        if (scheduler != null) {
+            return scheduler.append(this, rows);
+        }
+        return writeRows(rows);
+    }
+
+    /**
+     * Sends one append request for the rows, adding the header first if the sheet is empty.
+     * Called directly when there is no scheduler, otherwise from the scheduler's writer thread.
+     *
+     * @return the sheet row number of the first of {@code rows}, or -1 if the API did not report it
+     */
+    int writeRows(List<List<Object>> rows) throws IOException, GeneralSecurityException {
+        Sheets service = this.service != null ? this.service : SheetsServiceUtil.getSheetsService();
+
+        Timer apiCalls = MetricsRegistry.global().timer(MetricsRegistry.SHEETS_API_CALL);
+        int firstRow;
+        SheetMetadata metadata = SheetMetadataCache.forSheet(spreadsheetId, sheetName);
+        // Held across the append so concurrent writers cannot both decide to add the header row
+        synchronized (metadata) {
+            // --- Step 6: Detour (Conditional: Check if sheet is empty to add headers), probed once per process ---
+            if (!metadata.isLoaded()) {
+                String checkRange = sheetName + "!A1";
+                long start = System.nanoTime();
+                ValueRange existingDataResponse;
+                try {
+                    existingDataResponse = service.spreadsheets().values()
+                            .get(spreadsheetId, checkRange)
+                            .execute();
+                } finally {
+                    apiCalls.recordSince(start);
+                }
+                List<List<Object>> existingValues = existingDataResponse.getValues();
+                metadata.loadFromFirstRow(existingValues == null || existingValues.isEmpty() ? null : existingValues.get(0));
             }
 
-            for (FifaFinalResult result : results) {
-                rowsToAppend.add(Arrays.asList(
-                        result.getYear(),
-                        result.getWinner(),
-                        result.getScore(),
-                        result.getRunnerUp()
-                ));
+            List<List<Object>> rowsToAppend = rows;
+            List<Object> header = null;
+            if (!metadata.isHeaderPresent()) {
+                System.out.println("INFO (Call API Detour): Sheet '" + sheetName + "' appears empty, adding header row.");
+                header = HEADER_ROW;
+                rowsToAppend = new ArrayList<>(rows.size() + 1);
+                rowsToAppend.add(header);
+                rowsToAppend.addAll(rows);
+            } else {
+                System.out.println("INFO (Call API Detour): Sheet '" + sheetName + "' has data, not adding header row.");
             }
 
             ValueRange body = new ValueRange().setValues(rowsToAppend);
             // The range for append (e.g., SHEET_NAME + "!A:D") tells Sheets API to append after the last row with data.
-            service.spreadsheets().values()
-                    .append(SPREADSHEET_ID, SHEET_NAME + "!A:D", body) // Use loaded SPREADSHEET_ID and SHEET_NAME
-                    .setValueInputOption("USER_ENTERED")
-                    .setInsertDataOption("INSERT_ROWS")
-                    .execute();
-            System.out.println("SUCCESS (Call API): Appended " + results.size() + " results to spreadsheet: " + SPREADSHEET_ID + ", sheet: " + SHEET_NAME);
-            return true;
+            long start = System.nanoTime();
+            AppendValuesResponse response;
+            try {
+                response = service.spreadsheets().values()
+                        .append(spreadsheetId, sheetName + "!A:D", body)
+                        .setValueInputOption("USER_ENTERED")
+                        .setInsertDataOption("INSERT_ROWS")
+                        .execute();
+            } finally {
+                apiCalls.recordSince(start);
+            }
+            String updatedRange = response.getUpdates() == null ? null : response.getUpdates().getUpdatedRange();
+            metadata.recordAppend(header, updatedRange);
+            firstRow = SheetMetadata.firstRowOf(updatedRange);
+            if (firstRow >= 0 && header != null) {
+                firstRow++;
+            }
+        }
+        MetricsRegistry.global().add(MetricsRegistry.ROWS_APPENDED, rows.size());
+        System.out.println("SUCCESS (Call API): Appended " + rows.size() + " results to spreadsheet: " + spreadsheetId + ", sheet: " + sheetName);
+        return firstRow;
+    }
 
-        } catch (IOException | GeneralSecurityException e) {
-            System.err.println("ERROR (Call API): Failed to connect or authorize Google Sheets: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        } catch (Exception e) {
-            System.err.println("ERROR (Call API): Failed to append data to Google Sheets: " + e.getMessage());
-            e.printStackTrace();
-            return false;
+    /**
+     * Converts results into Sheets value rows in the header's column order.
+     */
+    static List<List<Object>> toRows(List<FifaFinalResult> results) {
+        List<List<Object>> rows = new ArrayList<>(results.size());
+        for (FifaFinalResult result : results) {
+            rows.add(Arrays.asList(
+                    result.getYear(),
+                    result.getWinner(),
+                    result.getScore(),
+                    result.getRunnerUp()
+            ));
         }
+        return rows;
+    }
+
+    /**
+     * What {@link #syncResultsOrThrow(List)} did with the results it was given.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class SyncSummary {
+        private final int appended;
+        private final int updated;
+        private final int unchanged;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,76 @@
+package com.example.gsheets;
+
+import com.google.api.client.http.HttpResponseException;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff with full jitter for Sheets API calls.
+ * Rate limiting (429), server errors (5xx) and I/O failures without an HTTP status are retried;
+ * other HTTP errors (bad request, permission denied, ...) are not.
+ */
+public class RetryPolicy {
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+
+    /**
+     * @param maxAttempts    total number of attempts, including the first one
+     * @param initialBackoff upper bound of the first backoff; it doubles on every further retry
+     * @param maxBackoff     cap for a single backoff
+     */
+    public RetryPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoff.toMillis();
+        this.maxBackoffMillis = maxBackoff.toMillis();
+    }
+
+    /** Five attempts, starting at one second and capped at 32 seconds, as recommended for the Sheets API. */
+    public static RetryPolicy defaults() {
+        return new RetryPolicy(5, Duration.ofSeconds(1), Duration.ofSeconds(32));
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * @return true if {@code e} shows the request was turned away before the API acted on it (rate limited, or the
+     *         connection was never made), so sending it again cannot write anything twice
+     */
+    public static boolean isSafeToResend(Exception e) {
+        if (e instanceof HttpResponseException) {
+            return ((HttpResponseException) e).getStatusCode() == 429;
+        }
+        return e instanceof ConnectException || e instanceof UnknownHostException || e instanceof NoRouteToHostException;
+    }
+
+    public static boolean isRetryable(Exception e) {
+        if (e instanceof HttpResponseException) {
+            int status = ((HttpResponseException) e).getStatusCode();
+            return status == 429 || status >= 500;
+        }
+        return e instanceof IOException;
+    }
+
+    /**
+     * @param retry 1 for the first retry, 2 for the second, ...
+     * @return a random backoff between zero and the exponential bound for this retry
+     */
+    public long backoffMillis(int retry) {
+        long bound = initialBackoffMillis << Math.min(retry - 1, 30);
+        if (bound <= 0 || bound > maxBackoffMillis) {
+            bound = maxBackoffMillis;
+        }
+        return ThreadLocalRandom.current().nextLong(bound + 1);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.gsheets;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * What this process knows about one sheet: whether it already has a header row, the header's
+ * column layout, the last row number reported by the API and, once an incremental sync has read it,
+ * the index of its rows by year. Callers synchronize on the instance while reading and updating it
+ * together with the write it describes.
+ */
+public class SheetMetadata {
+
+    private static final Pattern LAST_ROW_OF_RANGE = Pattern.compile("(\\d+)$");
+    private static final Pattern FIRST_ROW_OF_RANGE = Pattern.compile("![A-Z]+(\\d+)");
+
+    // Serializes incremental syncs of the sheet; separate from the instance lock, which appends take
+    private final Object syncLock = new Object();
+    private SheetRowIndex rowIndex;
+
+    private boolean loaded;
+    private boolean headerPresent;
+    private List<String> columns = Collections.emptyList();
+    private int lastKnownRowCount = -1;
+
+    /** @return true once the sheet has been probed (or written to) by this process */
+    public synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    public synchronized boolean isHeaderPresent() {
+        return headerPresent;
+    }
+
+    public synchronized List<String> getColumns() {
+        return columns;
+    }
+
+    /** @return the last row number with data, or -1 if it is not known yet */
+    public synchronized int getLastKnownRowCount() {
+        return lastKnownRowCount;
+    }
+
+    /**
+     * Records the result of probing the first row of the sheet.
+     *
+     * @param firstRow values of row 1, or null/empty if the sheet is empty
+     */
+    synchronized void loadFromFirstRow(List<Object> firstRow) {
+        loaded = true;
+        headerPresent = firstRow != null && !firstRow.isEmpty();
+        columns = headerPresent ? toStrings(firstRow) : Collections.<String>emptyList();
+        if (!headerPresent) {
+            lastKnownRowCount = 0;
+        }
+    }
+
+    /**
+     * Records a successful append.
+     *
+     * @param header       the header row written with this append, or null if none was written
+     * @param updatedRange the "updatedRange" reported by the API, e.g. {@code Sheet1!A7:D9}
+     */
+    synchronized void recordAppend(List<Object> header, String updatedRange) {
+        loaded = true;
+        if (header != null) {
+            headerPresent = true;
+            columns = toStrings(header);
+        }
+        if (updatedRange != null) {
+            Matcher matcher = LAST_ROW_OF_RANGE.matcher(updatedRange);
+            if (matcher.find()) {
+                lastKnownRowCount = Integer.parseInt(matcher.group(1));
+            }
+        }
+    }
+
+    Object getSyncLock() {
+        return syncLock;
+    }
+
+    /** @return the year index of the sheet, or null if it has not been read (or has been dropped) */
+    synchronized SheetRowIndex getRowIndex() {
+        return rowIndex;
+    }
+
+    synchronized void setRowIndex(SheetRowIndex rowIndex) {
+        this.rowIndex = rowIndex;
+    }
+
+    /**
+     * @param range an A1 range such as {@code Sheet1!A7:D9}
+     * @return its first row number (7), or -1 if the range is null or has none
+     */
+    static int firstRowOf(String range) {
+        if (range == null) {
+            return -1;
+        }
+        Matcher matcher = FIRST_ROW_OF_RANGE.matcher(range);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : -1;
+    }
+
+    private static List<String> toStrings(List<Object> values) {
+        List<String> strings = new ArrayList<>(values.size());
+        for (Object value : values) {
+            strings.add(String.valueOf(value));
+        }
+        return Collections.unmodifiableList(strings);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.gsheets;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Process-wide cache of {@link SheetMetadata}, keyed by spreadsheet id and sheet name, so the
+ * "is there a header yet?" probe is made once per sheet instead of before every append.
+ */
+public final class SheetMetadataCache {
+
+    private static final ConcurrentMap<String, SheetMetadata> CACHE = new ConcurrentHashMap<>();
+
+    private SheetMetadataCache() {
+    }
+
+    /**
+     * @return the metadata entry for the sheet; never null, but possibly not {@link SheetMetadata#isLoaded() loaded} yet
+     */
+    public static SheetMetadata forSheet(String spreadsheetId, String sheetName) {
+        return CACHE.computeIfAbsent(key(spreadsheetId, sheetName), k -> new SheetMetadata());
+    }
+
+    /**
+     * Forgets what is known about a sheet, e.g. after it was cleared or edited outside this process.
+     */
+    public static void invalidate(String spreadsheetId, String sheetName) {
+        CACHE.remove(key(spreadsheetId, sheetName));
+    }
+
+    private static String key(String spreadsheetId, String sheetName) {
+        return spreadsheetId + "/" + sheetName;
+    }
+}
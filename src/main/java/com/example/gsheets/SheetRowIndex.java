@@ -0,0 +1,106 @@
+package com.example.gsheets;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The data rows of a sheet keyed by their first (year) column, built from one read of the sheet so an
+ * incremental sync can tell new, changed and unchanged results apart without reading it again.
+ * Cells are compared as text, since the API returns what the user sees rather than what was written.
+ */
+class SheetRowIndex {
+
+    private final Map<String, Row> rowsByKey = new HashMap<>();
+
+    /**
+     * @param values       values of the sheet starting at row 1, as returned by {@code values.get}
+     * @param headerPresent whether row 1 is a header rather than data
+     */
+    static SheetRowIndex fromValues(List<List<Object>> values, boolean headerPresent) {
+        SheetRowIndex index = new SheetRowIndex();
+        if (values == null) {
+            return index;
+        }
+        for (int i = headerPresent ? 1 : 0; i < values.size(); i++) {
+            List<Object> row = values.get(i);
+            if (row != null && !row.isEmpty()) {
+                // A year that appears twice resolves to its last row, the one a later update should change
+                index.put(keyOf(row.get(0)), i + 1, row);
+            }
+        }
+        return index;
+    }
+
+    /** @return the row holding the key, or null if the sheet has none */
+    Row get(String key) {
+        return rowsByKey.get(key);
+    }
+
+    void put(String key, int rowNumber, List<Object> values) {
+        rowsByKey.put(key, new Row(rowNumber, toText(values)));
+    }
+
+    int size() {
+        return rowsByKey.size();
+    }
+
+    /**
+     * @return the key of a row whose first cell is {@code yearCell}; {@code 1930}, {@code 1930.0} and {@code "1930"} share one
+     */
+    static String keyOf(Object yearCell) {
+        return text(yearCell);
+    }
+
+    private static String text(Object cell) {
+        if (cell == null) {
+            return "";
+        }
+        if (cell instanceof Number) {
+            return new BigDecimal(cell.toString()).stripTrailingZeros().toPlainString();
+        }
+        String text = cell.toString().trim();
+        if (text.isEmpty() || !(Character.isDigit(text.charAt(0)) || text.charAt(0) == '-')) {
+            return text;
+        }
+        try {
+            // Numbers read back from the sheet arrive as text
+            return new BigDecimal(text).stripTrailingZeros().toPlainString();
+        } catch (NumberFormatException e) {
+            return text;
+        }
+    }
+
+    private static List<String> toText(List<Object> values) {
+        List<String> text = new ArrayList<>(values.size());
+        for (Object value : values) {
+            text.add(text(value));
+        }
+        // The API leaves out trailing empty cells
+        while (!text.isEmpty() && text.get(text.size() - 1).isEmpty()) {
+            text.remove(text.size() - 1);
+        }
+        return text;
+    }
+
+    static final class Row {
+        private final int rowNumber;
+        private final List<String> values;
+
+        private Row(int rowNumber, List<String> values) {
+            this.rowNumber = rowNumber;
+            this.values = values;
+        }
+
+        int getRowNumber() {
+            return rowNumber;
+        }
+
+        /** @return true if the sheet row already shows these values */
+        boolean matches(List<Object> values) {
+            return this.values.equals(toText(values));
+        }
+    }
+}
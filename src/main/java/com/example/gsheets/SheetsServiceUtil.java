@@ -13,6 +13,7 @@ import java.io.InputStream;
 import java.security.GeneralSecurityException;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 public class SheetsServiceUtil {
 
@@ -27,28 +28,57 @@ public class SheetsServiceUtil {
     // IMPORTANT: This file should now be your Service Account Key JSON.
     private static final String CREDENTIALS_FILE_PATH = "/credentials.json";
 
+    // Access tokens are refreshed in the background this long before they expire, so no request goes out with a stale token.
+    private static final long TOKEN_REFRESH_MARGIN_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    // A caller only waits for a refresh when the token has less than this left, e.g. on first use.
+    private static final long TOKEN_MIN_VALIDITY_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    private static final Object LOCK = new Object();
+    private static volatile Sheets sharedService;
+    private static volatile AccessTokenRefresher tokenRefresher;
+
     /**
-     * Creates an authorized Sheets API client service using a service account.
+     * Returns the process-wide Sheets client, creating it on first use.
+     * The HTTP transport (and with it the TLS/keep-alive connections) and the service account
+     * credential are shared by every caller; the access token is refreshed ahead of its expiry
+     * by {@link AccessTokenRefresher}, which only makes a caller wait when no valid token is left.
      *
      * @return an authorized Sheets API client service
-     * @throws IOException if the credentials file cannot be found or read.
+     * @throws IOException if the credentials file cannot be found or read, or the token cannot be refreshed.
      * @throws GeneralSecurityException if there's a security issue with HTTP transport.
      */
     public static Sheets getSheetsService() throws IOException, GeneralSecurityException {
-        HttpTransport httpTransport = GoogleNetHttpTransport.newTrustedTransport();
-        InputStream in = SheetsServiceUtil.class.getResourceAsStream(CREDENTIALS_FILE_PATH);
-
-        if (in == null) {
-            throw new IOException("Resource not found: " + CREDENTIALS_FILE_PATH +
-                    ". Ensure your service account JSON key file is in src/main/resources/" +
-                    " and named correctly (e.g., credentials.json).");
+        Sheets service = sharedService;
+        if (service == null) {
+            synchronized (LOCK) {
+                if (sharedService == null) {
+                    HttpTransport httpTransport = GoogleNetHttpTransport.newTrustedTransport();
+                    GoogleCredential credential = loadCredential(httpTransport);
+                    tokenRefresher = new AccessTokenRefresher(credential, TOKEN_REFRESH_MARGIN_MILLIS, TOKEN_MIN_VALIDITY_MILLIS);
+                    sharedService = new Sheets.Builder(httpTransport, JSON_FACTORY, credential)
+                            .setApplicationName(APPLICATION_NAME)
+                            .build();
+                }
+                service = sharedService;
+            }
         }
+        try {
+            tokenRefresher.ensureFresh();
+        } catch (IOException e) {
+            throw new IOException("Could not obtain an access token for the service account in " + CREDENTIALS_FILE_PATH + ": " + e.getMessage(), e);
+        }
+        return service;
+    }
 
-        GoogleCredential credential = GoogleCredential.fromStream(in, httpTransport, JSON_FACTORY)
-                .createScoped(SCOPES);
-
-        return new Sheets.Builder(httpTransport, JSON_FACTORY, credential)
-                .setApplicationName(APPLICATION_NAME)
-                .build();
+    private static GoogleCredential loadCredential(HttpTransport httpTransport) throws IOException {
+        try (InputStream in = SheetsServiceUtil.class.getResourceAsStream(CREDENTIALS_FILE_PATH)) {
+            if (in == null) {
+                throw new IOException("Resource not found: " + CREDENTIALS_FILE_PATH +
+                        ". Ensure your service account JSON key file is in src/main/resources/" +
+                        " and named correctly (e.g., credentials.json).");
+            }
+            return GoogleCredential.fromStream(in, httpTransport, JSON_FACTORY)
+                    .createScoped(SCOPES);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,309 @@
+package com.example.gsheets;
+
+import com.example.jobs.TokenBucket;
+import com.example.metrics.MetricsRegistry;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide pacing of Sheets appends. Each spreadsheet has one {@link TokenBucket}, shared by all of its
+ * sheets (tabs) because the write quota is per spreadsheet. Each target sheet has a single writer thread;
+ * appends queue up behind the bucket, and all appends waiting for the same sheet when a permit frees up are
+ * sent together as one request per {@link GoogleSheetsWriter}, so each goes out through its own writer's
+ * client and credentials. Concurrent jobs then share the write quota instead of each running into
+ * 429s on its own. When a coalesced request fails for a reason retrying would not fix (such as a 400 caused by
+ * one bad append), its appends are sent again one by one, so only the bad one fails.
+ * <p>
+ * Queue depth is exported as the {@value MetricsRegistry#SHEETS_WRITE_QUEUE_DEPTH} gauge, time spent
+ * queued as the {@value MetricsRegistry#SHEETS_WRITE_WAIT} timer.
+ */
+public class SheetsWriteScheduler {
+
+    /** Requests that may go out back to back before pacing starts. */
+    public static final int DEFAULT_BURST = 10;
+    /** One request per second stays within the default quota of 60 write requests per minute. */
+    public static final double DEFAULT_WRITES_PER_SECOND = 1.0;
+
+    private static final SheetsWriteScheduler SHARED = new SheetsWriteScheduler(DEFAULT_BURST, DEFAULT_WRITES_PER_SECOND);
+
+    static {
+        MetricsRegistry.global().registerGauge(MetricsRegistry.SHEETS_WRITE_QUEUE_DEPTH, SHARED::getQueueDepth);
+    }
+
+    private final int burst;
+    private final double writesPerSecond;
+    private final ConcurrentMap<String, SheetQueue> queues = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicLong requestsSent = new AtomicLong();
+
+    /**
+     * @param burst           requests per spreadsheet that may go out back to back
+     * @param writesPerSecond steady request rate per spreadsheet
+     */
+    public SheetsWriteScheduler(int burst, double writesPerSecond) {
+        if (burst < 1 || writesPerSecond <= 0) {
+            throw new IllegalArgumentException("burst and writesPerSecond must be positive");
+        }
+        this.burst = burst;
+        this.writesPerSecond = writesPerSecond;
+    }
+
+    /**
+     * @return the scheduler used by every {@link GoogleSheetsWriter} that is not given its own
+     */
+    public static SheetsWriteScheduler shared() {
+        return SHARED;
+    }
+
+    /**
+     * @return appends waiting to be sent, over all sheets
+     */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * @return append requests sent to the API, coalesced ones counting once
+     */
+    public long getRequestsSent() {
+        return requestsSent.get();
+    }
+
+    /**
+     * Queues the rows for the writer's sheet and blocks until the request carrying them has completed.
+     * An interrupt withdraws the rows only while they are still queued; once they have been taken for sending,
+     * the call waits for the request and reports its real outcome, with the interrupt flag set again.
+     *
+     * @return the sheet row number the first of the rows was written to, or -1 if the API did not say
+     */
+    int append(GoogleSheetsWriter writer, List<List<Object>> rows) throws IOException, GeneralSecurityException {
+        PendingAppend pending = new PendingAppend(writer, rows);
+        queueDepth.incrementAndGet();
+        queueFor(writer).pending.add(pending);
+        try {
+            return pending.done.get();
+        } catch (InterruptedException e) {
+            if (pending.claimed.compareAndSet(false, true)) {
+                // Still queued, so nothing was sent: withdraw it
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting to append to sheet " + writer.getSheetName());
+            }
+            // Already being sent; the caller must learn whether the rows landed
+            return awaitOutcome(pending);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static int awaitOutcome(PendingAppend pending) throws IOException, GeneralSecurityException {
+        try {
+            while (true) {
+                try {
+                    return pending.done.get();
+                } catch (InterruptedException ignored) {
+                    // Keep waiting; the flag is restored below
+                }
+            }
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } finally {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return the failure of a completed append as an IOException to throw; other checked and unchecked
+     * failures are thrown as they are
+     */
+    private static IOException unwrap(ExecutionException e) throws GeneralSecurityException {
+        Throwable cause = e.getCause();
+        if (cause instanceof IOException) {
+            return (IOException) cause;
+        }
+        if (cause instanceof GeneralSecurityException) {
+            throw (GeneralSecurityException) cause;
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IOException(cause);
+    }
+
+    /**
+     * Waits for a permit of the writer's sheet before a write request other than an append, so it counts
+     * against the same quota.
+     */
+    void awaitPermit(GoogleSheetsWriter writer) throws InterruptedIOException {
+        try {
+            bucketFor(writer.getSpreadsheetId()).acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to write to sheet " + writer.getSheetName());
+        }
+    }
+
+    private SheetQueue queueFor(GoogleSheetsWriter writer) {
+        String key = writer.getSpreadsheetId() + "\u0000" + writer.getSheetName();
+        return queues.computeIfAbsent(key, k -> new SheetQueue(bucketFor(writer.getSpreadsheetId())));
+    }
+
+    private TokenBucket bucketFor(String spreadsheetId) {
+        return buckets.computeIfAbsent(spreadsheetId, id -> new TokenBucket(burst, writesPerSecond));
+    }
+
+    private static final class PendingAppend {
+        private final GoogleSheetsWriter writer;
+        private final List<List<Object>> rows;
+        private final long enqueuedNanos = System.nanoTime();
+        private final CompletableFuture<Integer> done = new CompletableFuture<>();
+        // Set by whoever gets to it first: the writer thread taking it for sending, or its interrupted caller withdrawing it
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private PendingAppend(GoogleSheetsWriter writer, List<List<Object>> rows) {
+            this.writer = writer;
+            this.rows = rows;
+        }
+    }
+
+    private final class SheetQueue {
+        private final BlockingQueue<PendingAppend> pending = new LinkedBlockingQueue<>();
+        private final TokenBucket bucket;
+
+        private SheetQueue(TokenBucket bucket) {
+            this.bucket = bucket;
+            Thread writerThread = new Thread(this::run, "sheets-write-scheduler");
+            writerThread.setDaemon(true);
+            writerThread.start();
+        }
+
+        private void run() {
+            try {
+                while (true) {
+                    PendingAppend first = pending.take();
+                    bucket.acquire();
+                    // Everything that queued up while waiting for the permit goes out with it
+                    List<PendingAppend> group = new ArrayList<>();
+                    group.add(first);
+                    pending.drainTo(group);
+                    queueDepth.addAndGet(-group.size());
+                    try {
+                        dispatch(group);
+                    } catch (InterruptedException e) {
+                        throw e;
+                    } catch (Throwable t) {
+                        // Keep the writer alive: a dead writer would leave every later append waiting forever
+                        System.err.println("ERROR (Sheets Scheduler): Unexpected failure while writing " + group.size() + " appends: " + t);
+                        for (PendingAppend append : group) {
+                            append.done.completeExceptionally(t);
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void dispatch(List<PendingAppend> group) throws InterruptedException {
+            MetricsRegistry metrics = MetricsRegistry.global();
+            long sendNanos = System.nanoTime();
+            // Appends of one writer go out together; each writer keeps its own client and credentials
+            List<List<PendingAppend>> byWriter = new ArrayList<>();
+            for (PendingAppend append : group) {
+                if (!append.claimed.compareAndSet(false, true)) {
+                    // Withdrawn by its interrupted caller
+                    continue;
+                }
+                metrics.timer(MetricsRegistry.SHEETS_WRITE_WAIT).record(sendNanos - append.enqueuedNanos);
+                sameWriter(byWriter, append.writer).add(append);
+            }
+            for (int i = 0; i < byWriter.size(); i++) {
+                if (i > 0) {
+                    bucket.acquire();
+                }
+                dispatchForWriter(byWriter.get(i));
+            }
+        }
+
+        private List<PendingAppend> sameWriter(List<List<PendingAppend>> byWriter, GoogleSheetsWriter writer) {
+            for (List<PendingAppend> appends : byWriter) {
+                if (appends.get(0).writer == writer) {
+                    return appends;
+                }
+            }
+            List<PendingAppend> appends = new ArrayList<>();
+            byWriter.add(appends);
+            return appends;
+        }
+
+        private void dispatchForWriter(List<PendingAppend> sending) throws InterruptedException {
+            if (sending.size() == 1) {
+                sendAlone(sending.get(0));
+                return;
+            }
+
+            List<List<Object>> rows = new ArrayList<>();
+            for (PendingAppend append : sending) {
+                rows.addAll(append.rows);
+            }
+            MetricsRegistry.global().add(MetricsRegistry.SHEETS_APPENDS_COALESCED, sending.size() - 1);
+            System.out.println("INFO (Sheets Scheduler): Coalesced " + sending.size() + " appends into one request of " + rows.size() + " rows.");
+            int firstRow;
+            try {
+                firstRow = write(sending.get(0).writer, rows);
+            } catch (Throwable t) {
+                if (t instanceof Exception && !RetryPolicy.isRetryable((Exception) t)) {
+                    // The request was rejected as a whole, so nothing was written; find out which append is at fault
+                    System.err.println("WARN (Sheets Scheduler): Coalesced request failed (" + t.getMessage() + "). Sending its " + sending.size() + " appends one by one.");
+                    for (int i = 0; i < sending.size(); i++) {
+                        if (i > 0) {
+                            bucket.acquire();
+                        }
+                        sendAlone(sending.get(i));
+                    }
+                } else {
+                    // Worth retrying as it is; the callers' retry policies take it from here
+                    for (PendingAppend append : sending) {
+                        append.done.completeExceptionally(t);
+                    }
+                }
+                return;
+            }
+            // The rows of each append were sent in queue order, so each starts where the previous ended
+            int offset = 0;
+            for (PendingAppend append : sending) {
+                append.done.complete(firstRow < 0 ? -1 : firstRow + offset);
+                offset += append.rows.size();
+            }
+        }
+
+        private void sendAlone(PendingAppend append) {
+            try {
+                append.done.complete(write(append.writer, append.rows));
+            } catch (Throwable t) {
+                append.done.completeExceptionally(t);
+            }
+        }
+
+        private int write(GoogleSheetsWriter writer, List<List<Object>> rows) throws IOException, GeneralSecurityException {
+            requestsSent.incrementAndGet();
+            return writer.writeRows(rows);
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.example.gsheets;
+
+import com.example.metrics.MetricsRegistry;
+import com.example.model.FifaFinalResult;
+import com.example.model.FifaResultBatch;
+import com.example.sink.ResultSink;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Streams results to Google Sheets in chunks instead of one large append at the end of a run.
+ * A background thread flushes whenever {@code chunkSize} rows are buffered or the oldest buffered
+ * row has waited {@code flushInterval}. Failed appends are retried according to a {@link RetryPolicy}; an append
+ * that may have landed despite the error is retried with {@link GoogleSheetsWriter#appendMissingResultsOrThrow},
+ * so its rows are not written twice.
+ * The buffer is bounded, so {@link #add(FifaFinalResult)} blocks the producer when the writer falls behind.
+ * Chunks are collected in a {@link FifaResultBatch} and sent through its sheet-row view, and a batch handed to
+ * {@link #write(FifaResultBatch)} is copied column by column, so rows are never boxed on the way to the sheet.
+ * In incremental mode every chunk is synced with {@link GoogleSheetsWriter#syncResultsOrThrow} instead of
+ * appended, so results the sheet already shows are not written again.
+ */
+public class StreamingSheetsSink implements ResultSink {
+
+    // Identity-compared marker telling the flusher that no more rows will come.
+    private static final Segment END_OF_STREAM = new Segment(null, null, 0, 0);
+
+    private final GoogleSheetsWriter writer;
+    private final int chunkSize;
+    private final long flushIntervalNanos;
+    private final RetryPolicy retryPolicy;
+    private final boolean incremental;
+    private final int capacity;
+    private final BlockingQueue<Segment> queue = new LinkedBlockingQueue<>();
+    // One permit per row the buffer may still take
+    private final Semaphore space;
+    private final Thread flusher;
+
+    private final AtomicInteger rowsWritten = new AtomicInteger();
+    private final List<FifaFinalResult> failedRows = Collections.synchronizedList(new ArrayList<FifaFinalResult>());
+    private volatile boolean closed;
+    private volatile Consumer<List<FifaFinalResult>> writeListener;
+
+    /**
+     * @param writer        destination of every chunk
+     * @param chunkSize     rows per append request
+     * @param flushInterval longest time a buffered row waits before its chunk is flushed
+     * @param capacity      rows that may be buffered before {@link #add(FifaFinalResult)} blocks
+     * @param retryPolicy   retry behaviour for failed appends
+     */
+    public StreamingSheetsSink(GoogleSheetsWriter writer, int chunkSize, Duration flushInterval, int capacity, RetryPolicy retryPolicy) {
+        this(writer, chunkSize, flushInterval, capacity, retryPolicy, false);
+    }
+
+    /**
+     * @param incremental sync chunks against the rows already in the sheet instead of appending them
+     */
+    public StreamingSheetsSink(GoogleSheetsWriter writer, int chunkSize, Duration flushInterval, int capacity, RetryPolicy retryPolicy, boolean incremental) {
+        if (chunkSize < 1 || capacity < 1) {
+            throw new IllegalArgumentException("chunkSize and capacity must be positive");
+        }
+        this.writer = writer;
+        this.chunkSize = chunkSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.retryPolicy = retryPolicy;
+        this.incremental = incremental;
+        this.capacity = capacity;
+        this.space = new Semaphore(capacity);
+        this.flusher = new Thread(this::runFlusher, "sheets-sink-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    public StreamingSheetsSink(GoogleSheetsWriter writer) {
+        this(writer, false);
+    }
+
+    public StreamingSheetsSink(GoogleSheetsWriter writer, boolean incremental) {
+        this(writer, 50, Duration.ofSeconds(10), 500, RetryPolicy.defaults(), incremental);
+    }
+
+    /**
+     * Queues a result for writing, blocking while the buffer is full.
+     */
+    public void add(FifaFinalResult result) throws InterruptedException {
+        if (closed) {
+            throw new IllegalStateException("Sink is already closed");
+        }
+        Objects.requireNonNull(result.getYear(), "year");
+        space.acquire();
+        queue.put(new Segment(result, null, 0, 1));
+    }
+
+    /**
+     * Queues every result of the batch, blocking while the buffer is full.
+     */
+    @Override
+    public void write(List<FifaFinalResult> batch) throws InterruptedException {
+        for (FifaFinalResult result : batch) {
+            add(result);
+        }
+    }
+
+    /**
+     * Queues the rows of the batch without boxing them, blocking while the buffer is full.
+     * The batch must not change until the sink has written it.
+     */
+    @Override
+    public void write(FifaResultBatch batch) throws InterruptedException {
+        if (closed) {
+            throw new IllegalStateException("Sink is already closed");
+        }
+        int step = Math.min(chunkSize, capacity);
+        for (int from = 0; from < batch.size(); from += step) {
+            int to = Math.min(from + step, batch.size());
+            space.acquire(to - from);
+            queue.put(new Segment(null, batch, from, to));
+        }
+    }
+
+    /**
+     * Called from the flusher thread with each chunk once it has been written.
+     */
+    @Override
+    public void setWriteListener(Consumer<List<FifaFinalResult>> listener) {
+        this.writeListener = listener;
+    }
+
+    /**
+     * Flushes everything still buffered and waits for the background writer to finish.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        queue.put(END_OF_STREAM);
+        flusher.join();
+    }
+
+    @Override
+    public int getRowsWritten() {
+        return rowsWritten.get();
+    }
+
+    /**
+     * @return rows whose chunk could not be written after all retries
+     */
+    @Override
+    public List<FifaFinalResult> getFailedRows() {
+        synchronized (failedRows) {
+            return new ArrayList<>(failedRows);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "sheets";
+    }
+
+    private void runFlusher() {
+        FifaResultBatch chunk = new FifaResultBatch(chunkSize);
+        long deadline = 0;
+        try {
+            while (true) {
+                Segment next = chunk.isEmpty()
+                        ? queue.take()
+                        : queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (next == END_OF_STREAM) {
+                    break;
+                }
+                if (next != null) {
+                    for (int row = next.from; row < next.to; row++) {
+                        if (chunk.isEmpty()) {
+                            deadline = System.nanoTime() + flushIntervalNanos;
+                        }
+                        next.copyRow(row, chunk);
+                        space.release();
+                        if (chunk.size() >= chunkSize) {
+                            flush(chunk);
+                            chunk = new FifaResultBatch(chunkSize);
+                        }
+                    }
+                }
+                if (!chunk.isEmpty() && System.nanoTime() - deadline >= 0) {
+                    flush(chunk);
+                    chunk = new FifaResultBatch(chunkSize);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!chunk.isEmpty()) {
+            flush(chunk);
+        }
+    }
+
+    private void flush(FifaResultBatch chunk) {
+        List<FifaFinalResult> results = chunk.asResults();
+        // Set once an append failed after it may have reached the sheet
+        boolean outcomeUnknown = false;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                if (incremental) {
+                    // A failed sync drops the writer's index, so the retry diffs against a fresh read of the sheet
+                    // and rows that landed despite the error are not appended again
+                    GoogleSheetsWriter.SyncSummary summary = writer.syncResultsOrThrow(results);
+                    rowsWritten.addAndGet(summary.getAppended() + summary.getUpdated());
+                } else if (outcomeUnknown) {
+                    writer.appendMissingResultsOrThrow(results);
+                    rowsWritten.addAndGet(chunk.size());
+                } else {
+                    writer.appendBatchOrThrow(chunk);
+                    rowsWritten.addAndGet(chunk.size());
+                }
+                break;
+            } catch (Exception e) {
+                if (attempt >= retryPolicy.getMaxAttempts() || !RetryPolicy.isRetryable(e)) {
+                    System.err.println("ERROR (Sheets Sink): Giving up on a chunk of " + chunk.size() + " rows after " + attempt + " attempt(s): " + e.getMessage());
+                    failedRows.addAll(results);
+                    MetricsRegistry.global().add(MetricsRegistry.ROWS_FAILED, chunk.size());
+                    return;
+                }
+                if (!RetryPolicy.isSafeToResend(e)) {
+                    outcomeUnknown = true;
+                    writer.forgetRowIndex();
+                }
+                MetricsRegistry.global().increment(MetricsRegistry.SHEETS_API_RETRIES);
+                long backoff = retryPolicy.backoffMillis(attempt);
+                System.err.println("WARN (Sheets Sink): Append attempt " + attempt + " failed (" + e.getMessage() + "). Retrying in " + backoff + " ms.");
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    failedRows.addAll(results);
+                    MetricsRegistry.global().add(MetricsRegistry.ROWS_FAILED, chunk.size());
+                    return;
+                }
+            }
+        }
+        Consumer<List<FifaFinalResult>> listener = writeListener;
+        if (listener != null) {
+            try {
+                listener.accept(results);
+            } catch (RuntimeException e) {
+                System.err.println("WARN (Sheets Sink): Write listener failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Rows handed to the sink in one call: either a single result or a range of a batch.
+     */
+    private static final class Segment {
+        private final FifaFinalResult result;
+        private final FifaResultBatch batch;
+        private final int from;
+        private final int to;
+
+        private Segment(FifaFinalResult result, FifaResultBatch batch, int from, int to) {
+            this.result = result;
+            this.batch = batch;
+            this.from = from;
+            this.to = to;
+        }
+
+        private void copyRow(int row, FifaResultBatch chunk) {
+            if (batch == null) {
+                chunk.add(result);
+            } else {
+                chunk.add(batch.getYear(row), batch.getWinner(row), batch.getScore(row), batch.getRunnerUp(row));
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.jobs;
+
+import java.net.URI;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * One {@link TokenBucket} per origin host, so concurrent jobs stay polite to each site
+ * no matter how many of them target it.
+ */
+public class HostRateLimiter {
+
+    private final int burst;
+    private final double requestsPerSecond;
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public HostRateLimiter(int burst, double requestsPerSecond) {
+        this.burst = burst;
+        this.requestsPerSecond = requestsPerSecond;
+    }
+
+    /**
+     * Waits for a request slot on the host of {@code location}. Local files are never limited.
+     */
+    public void acquire(String location) throws InterruptedException {
+        String host = hostOf(location);
+        if (host != null) {
+            buckets.computeIfAbsent(host, h -> new TokenBucket(burst, requestsPerSecond)).acquire();
+        }
+    }
+
+    static String hostOf(String location) {
+        if (!(location.startsWith("http://") || location.startsWith("https://"))) {
+            return null;
+        }
+        String host = URI.create(location).getHost();
+        return host == null ? null : host.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.jobs;
+
+import com.example.model.FifaFinalResult;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Outcome of one {@link ScrapeJob}: its results, or the error that stopped it.
+ */
+@Getter
+@AllArgsConstructor
+public class JobResult {
+    private final ScrapeJob job;
+    private final List<FifaFinalResult> results;
+    /** Null if the job succeeded. */
+    private final Exception error;
+    private final long elapsedMillis;
+
+    public boolean isSuccessful() {
+        return error == null;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.jobs;
+
+import com.example.extractor.FifaTableSchemas;
+import com.example.extractor.TableSchema;
+import com.example.model.FifaFinalResult;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One page/table to scrape: where it lives, which table schema to read and how many rows to look at.
+ */
+@Data
+@AllArgsConstructor
+public class ScrapeJob {
+    private String name;
+    /** An http(s) URL or the path of a local HTML file. */
+    private String sourceLocation;
+    private TableSchema<FifaFinalResult> schema;
+    /** Number of table rows (header row included) to look at. */
+    private int maxRows;
+
+    /**
+     * Reads job definitions from a JSON array such as
+     * {@code [{"name": "Men's finals", "source": "https://...", "table": "FINALS", "maxRows": 30}]}.
+     * {@code table} defaults to "FINALS" and {@code maxRows} to 100.
+     */
+    public static List<ScrapeJob> loadAll(Path jsonFile) throws IOException {
+        List<ScrapeJob> jobs = new ArrayList<>();
+        try (Reader reader = Files.newBufferedReader(jsonFile, StandardCharsets.UTF_8)) {
+            JsonArray definitions = JsonParser.parseReader(reader).getAsJsonArray();
+            for (JsonElement element : definitions) {
+                JsonObject definition = element.getAsJsonObject();
+                String source = definition.get("source").getAsString();
+                jobs.add(new ScrapeJob(
+                        definition.has("name") ? definition.get("name").getAsString() : source,
+                        source,
+                        FifaTableSchemas.forName(definition.has("table") ? definition.get("table").getAsString() : "FINALS"),
+                        definition.has("maxRows") ? definition.get("maxRows").getAsInt() : 100));
+            }
+        } catch (IllegalStateException | NullPointerException e) {
+            throw new IOException("Invalid job definitions in " + jsonFile + ": " + e.getMessage(), e);
+        }
+        return jobs;
+    }
+}
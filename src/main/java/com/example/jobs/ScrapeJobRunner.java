@@ -0,0 +1,125 @@
+package com.example.jobs;
+
+import com.example.cache.PageCache;
+import com.example.extractor.JsoupFifaTableExtractor;
+import com.example.model.FifaFinalResult;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Scrapes many pages concurrently, so a run takes about as long as its slowest page.
+ * Every job runs on its own virtual thread when the JVM has them (Java 21+) and on a fixed
+ * platform-thread pool otherwise. At most {@code maxConcurrency} jobs run at once, and every
+ * request passes through a per-host {@link HostRateLimiter}.
+ */
+public class ScrapeJobRunner {
+
+    private final int maxConcurrency;
+    private final HostRateLimiter rateLimiter;
+    private final PageCache pageCache;
+
+    /**
+     * @param maxConcurrency most jobs in flight at once
+     * @param rateLimiter    per-host request limiter
+     * @param pageCache      cache pages are fetched through, or null to always download them
+     */
+    public ScrapeJobRunner(int maxConcurrency, HostRateLimiter rateLimiter, PageCache pageCache) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+        }
+        this.maxConcurrency = maxConcurrency;
+        this.rateLimiter = rateLimiter;
+        this.pageCache = pageCache;
+    }
+
+    /**
+     * Runs every job and waits for all of them. A failing job does not affect the others.
+     *
+     * @return one result per job, in the order of {@code jobs}
+     */
+    public List<JobResult> runAll(List<ScrapeJob> jobs) throws InterruptedException {
+        return runAll(jobs, result -> { });
+    }
+
+    /**
+     * Runs every job like {@link #runAll(List)}, handing each job's result to {@code listener} as soon as it and
+     * every job before it have finished, so consumers see results in job order without waiting for the slowest job.
+     */
+    public List<JobResult> runAll(List<ScrapeJob> jobs, JobListener listener) throws InterruptedException {
+        Semaphore slots = new Semaphore(maxConcurrency);
+        ExecutorService executor = newExecutor(maxConcurrency);
+        try {
+            List<Future<JobResult>> futures = new ArrayList<>(jobs.size());
+            for (ScrapeJob job : jobs) {
+                futures.add(executor.submit(() -> {
+                    slots.acquire();
+                    try {
+                        return runJob(job);
+                    } finally {
+                        slots.release();
+                    }
+                }));
+            }
+
+            List<JobResult> results = new ArrayList<>(jobs.size());
+            for (int i = 0; i < futures.size(); i++) {
+                JobResult result;
+                try {
+                    result = futures.get(i).get();
+                } catch (ExecutionException e) {
+                    Exception cause = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                    result = new JobResult(jobs.get(i), Collections.<FifaFinalResult>emptyList(), cause, 0);
+                }
+                results.add(result);
+                listener.jobDone(result);
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Receives job results from {@link #runAll(List, JobListener)} in job order; may block.
+     */
+    public interface JobListener {
+        void jobDone(JobResult result) throws InterruptedException;
+    }
+
+    private JobResult runJob(ScrapeJob job) throws InterruptedException {
+        long start = System.nanoTime();
+        rateLimiter.acquire(job.getSourceLocation());
+        try {
+            List<FifaFinalResult> results = new JsoupFifaTableExtractor(job.getSourceLocation(), pageCache, job.getSchema())
+                    .extractResults(job.getMaxRows());
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            System.out.println("INFO (Jobs): '" + job.getName() + "' extracted " + results.size() + " results in " + elapsedMillis + " ms.");
+            return new JobResult(job, results, null, elapsedMillis);
+        } catch (Exception e) {
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            System.err.println("ERROR (Jobs): '" + job.getName() + "' failed after " + elapsedMillis + " ms: " + e.getMessage());
+            return new JobResult(job, Collections.<FifaFinalResult>emptyList(), e, elapsedMillis);
+        }
+    }
+
+    /**
+     * Uses {@code Executors.newVirtualThreadPerTaskExecutor()} when running on Java 21+. It is looked up
+     * reflectively because the project still compiles for Java 8.
+     */
+    static ExecutorService newExecutor(int platformThreads) {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(platformThreads);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.jobs;
+
+import com.example.extractor.FifaResultExtractor;
+import com.example.model.FifaFinalResult;
+
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Presents a list of {@link ScrapeJob}s as one extractor. Results come in job order; when streamed, each job's
+ * results are handed over as soon as that job (and the ones before it) finished, while later jobs keep running.
+ * Every job reads its own {@link ScrapeJob#getMaxRows() maxRows}, so the {@code maxRows} argument is ignored.
+ */
+public class ScrapeJobsExtractor implements FifaResultExtractor {
+
+    private final List<ScrapeJob> jobs;
+    private final ScrapeJobRunner runner;
+
+    public ScrapeJobsExtractor(List<ScrapeJob> jobs, ScrapeJobRunner runner) {
+        this.jobs = jobs;
+        this.runner = runner;
+    }
+
+    @Override
+    public List<FifaFinalResult> extractResults(int maxRows) throws InterruptedIOException {
+        List<FifaFinalResult> results = new ArrayList<>();
+        try {
+            streamResults(maxRows, results::add);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while running scrape jobs");
+        }
+        return results;
+    }
+
+    @Override
+    public void streamResults(int maxRows, ResultCallback callback) throws InterruptedException {
+        int[] extracted = {0};
+        runner.runAll(jobs, jobResult -> {
+            for (FifaFinalResult result : jobResult.getResults()) {
+                callback.accept(result);
+            }
+            extracted[0] += jobResult.getResults().size();
+        });
+        System.out.println("Extracted " + extracted[0] + " results from " + jobs.size() + " scrape jobs.");
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.jobs;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Blocking token bucket: allows bursts of up to {@code capacity} permits and refills at a steady rate.
+ */
+public class TokenBucket {
+
+    private final double capacity;
+    private final double permitsPerNano;
+    private double tokens;
+    private long lastRefillNanos;
+
+    /**
+     * @param capacity         largest burst; the bucket starts full
+     * @param permitsPerSecond steady refill rate
+     */
+    public TokenBucket(int capacity, double permitsPerSecond) {
+        if (capacity < 1 || permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity and permitsPerSecond must be positive");
+        }
+        this.capacity = capacity;
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.tokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Takes one permit, waiting until one is available.
+     */
+    public void acquire() throws InterruptedException {
+        while (true) {
+            long waitNanos;
+            synchronized (this) {
+                refill();
+                if (tokens >= 1) {
+                    tokens -= 1;
+                    return;
+                }
+                waitNanos = (long) Math.ceil((1 - tokens) / permitsPerNano);
+            }
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * @return true if a permit was taken without waiting
+     */
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * permitsPerNano);
+        lastRefillNanos = now;
+    }
+}
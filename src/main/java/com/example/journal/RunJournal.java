@@ -0,0 +1,247 @@
+package com.example.journal;
+
+import com.example.cache.PageCache;
+import com.example.model.FifaFinalResult;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Append-only, fsync'd log of a review run, one JSON record per line:
+ * <pre>
+ *   {"type":"extracted","row":0,"year":1930,"winner":"Uruguay","score":"4–2","runnerUp":"Argentina"}
+ *   {"type":"decision","row":0,"choice":"append"}
+ *   {"type":"sent","row":0}
+ * </pre>
+ * Opening an existing journal replays it, so a run that crashed, hung or was killed can continue where it
+ * stopped: the extracted rows come from the journal instead of a new scrape, review resumes after the last
+ * decided row, and confirmed rows without a {@code sent} record are handed to the sink again.
+ * A torn last line from a crash mid-write is ignored. {@link #complete()} deletes the journal.
+ * <p>
+ * Delivery is at-least-once: callers record rows as sent as soon as the sink reports them written, so only rows
+ * still in flight at a crash (handed to the sink but not yet reported) are sent again.
+ */
+public class RunJournal implements Closeable {
+
+    static final String EXTRACTED = "extracted";
+    static final String DECISION = "decision";
+    static final String SENT = "sent";
+
+    private final Path file;
+    private final FileChannel channel;
+    private final List<FifaFinalResult> extracted = new ArrayList<>();
+    private final Set<Integer> confirmed = new LinkedHashSet<>();
+    private final Set<Integer> sent = new LinkedHashSet<>();
+    private int lastDecidedRow = -1;
+
+    private RunJournal(Path file) throws IOException {
+        this.file = file;
+        boolean tornLastLine = Files.exists(file) && replay();
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        if (tornLastLine) {
+            // Keep the next record off the partial line
+            append("\n");
+        }
+    }
+
+    /**
+     * Opens the journal at {@code file}, replaying whatever an earlier run left in it.
+     */
+    public static RunJournal open(Path file) throws IOException {
+        return new RunJournal(file);
+    }
+
+    /**
+     * @param runKey identifies the work, e.g. the source URL, so each source has its own journal
+     * @return {@code ~/.tennr/journal/<sha256 of runKey>.jsonl}
+     */
+    public static Path defaultFile(String runKey) {
+        return Paths.get(System.getProperty("user.home"), ".tennr", "journal",
+                PageCache.sha256(runKey.getBytes(StandardCharsets.UTF_8)) + ".jsonl");
+    }
+
+    /**
+     * @return true if an earlier run already recorded its extracted rows
+     */
+    public synchronized boolean hasExtraction() {
+        return !extracted.isEmpty();
+    }
+
+    public synchronized List<FifaFinalResult> getExtracted() {
+        return new ArrayList<>(extracted);
+    }
+
+    /**
+     * @return index of the first row nobody has decided on yet
+     */
+    public synchronized int getNextRowToReview() {
+        return lastDecidedRow + 1;
+    }
+
+    /**
+     * @return indexes of rows confirmed for appending that were never recorded as sent, in confirmation order
+     */
+    public synchronized List<Integer> getUnsentConfirmedRows() {
+        List<Integer> unsent = new ArrayList<>();
+        for (Integer row : confirmed) {
+            if (!sent.contains(row)) {
+                unsent.add(row);
+            }
+        }
+        return unsent;
+    }
+
+    public synchronized void recordExtracted(List<FifaFinalResult> results) throws IOException {
+        StringBuilder records = new StringBuilder(results.size() * 96);
+        for (FifaFinalResult result : results) {
+            JsonObject record = record(EXTRACTED, extracted.size());
+            record.addProperty("year", result.getYear());
+            record.addProperty("winner", result.getWinner());
+            record.addProperty("score", result.getScore());
+            record.addProperty("runnerUp", result.getRunnerUp());
+            records.append(record).append('\n');
+            extracted.add(result);
+        }
+        append(records);
+    }
+
+    /**
+     * Records the user's choice for a row before it is acted on.
+     */
+    public synchronized void recordDecision(int row, String choice) throws IOException {
+        JsonObject record = record(DECISION, row);
+        record.addProperty("choice", choice);
+        append(new StringBuilder().append(record).append('\n'));
+        apply(record);
+    }
+
+    /**
+     * Records the choices for several rows with a single sync, e.g. after a batch review.
+     *
+     * @param choices choice per row index
+     */
+    public synchronized void recordDecisions(Map<Integer, String> choices) throws IOException {
+        if (choices.isEmpty()) {
+            return;
+        }
+        StringBuilder records = new StringBuilder(choices.size() * 48);
+        List<JsonObject> applied = new ArrayList<>(choices.size());
+        for (Map.Entry<Integer, String> choice : choices.entrySet()) {
+            JsonObject record = record(DECISION, choice.getKey());
+            record.addProperty("choice", choice.getValue());
+            records.append(record).append('\n');
+            applied.add(record);
+        }
+        append(records);
+        for (JsonObject record : applied) {
+            apply(record);
+        }
+    }
+
+    /**
+     * Records rows the sink has written. Rows already recorded as sent are left out.
+     */
+    public synchronized void recordSent(Collection<Integer> rows) throws IOException {
+        StringBuilder records = new StringBuilder(rows.size() * 24);
+        for (Integer row : rows) {
+            if (sent.add(row)) {
+                records.append(record(SENT, row)).append('\n');
+            }
+        }
+        if (records.length() > 0) {
+            append(records);
+        }
+    }
+
+    /**
+     * Marks the run as finished by deleting the journal; the next run starts from scratch.
+     */
+    public synchronized void complete() throws IOException {
+        close();
+        Files.deleteIfExists(file);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel.isOpen()) {
+            channel.close();
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    private void append(CharSequence records) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(records.toString().getBytes(StandardCharsets.UTF_8));
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        channel.force(false);
+    }
+
+    /**
+     * @return true if the file does not end with a complete line
+     */
+    private boolean replay() throws IOException {
+        byte[] content = Files.readAllBytes(file);
+        String[] lines = new String(content, StandardCharsets.UTF_8).split("\n");
+        for (int i = 0; i < lines.length; i++) {
+            if (lines[i].trim().isEmpty()) {
+                continue;
+            }
+            try {
+                apply(JsonParser.parseString(lines[i]).getAsJsonObject());
+            } catch (JsonParseException | IllegalStateException | UnsupportedOperationException | NullPointerException e) {
+                System.err.println("WARN (Journal): Ignoring unreadable record on line " + (i + 1) + " of " + file + " (" + e.getMessage() + ").");
+            }
+        }
+        return content.length > 0 && content[content.length - 1] != '\n';
+    }
+
+    private void apply(JsonObject record) {
+        String type = record.get("type").getAsString();
+        int row = record.get("row").getAsInt();
+        if (EXTRACTED.equals(type)) {
+            extracted.add(new FifaFinalResult(record.get("year").getAsInt(), string(record, "winner"), string(record, "score"), string(record, "runnerUp")));
+        } else if (DECISION.equals(type)) {
+            String choice = record.get("choice").getAsString();
+            lastDecidedRow = Math.max(lastDecidedRow, row);
+            if ("append".equals(choice)) {
+                confirmed.add(row);
+            }
+        } else if (SENT.equals(type)) {
+            sent.add(row);
+        }
+    }
+
+    private static JsonObject record(String type, int row) {
+        JsonObject record = new JsonObject();
+        record.addProperty("type", type);
+        record.addProperty("row", row);
+        return record;
+    }
+
+    private static String string(JsonObject record, String name) {
+        return record.has(name) && !record.get(name).isJsonNull() ? record.get(name).getAsString() : null;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.metrics;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes a {@link MetricsRegistry} as Prometheus text exposition format, or as JSON when the target file ends in {@code .json}.
+ * Timers become Prometheus summaries ({@code _seconds_count}, {@code _seconds_sum}) plus a {@code _seconds_max} gauge,
+ * counters become {@code _total} counters and gauges plain gauges; every name is prefixed with {@value #PREFIX}.
+ */
+public class MetricsExporter {
+
+    static final String PREFIX = "tennr_";
+
+    public static void write(MetricsRegistry registry, Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        String content = file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".json")
+                ? toJson(registry)
+                : toPrometheusText(registry);
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(content);
+        }
+    }
+
+    public static String toPrometheusText(MetricsRegistry registry) {
+        StringBuilder out = new StringBuilder();
+        for (Map.Entry<String, Timer> entry : registry.getTimers().entrySet()) {
+            String name = PREFIX + entry.getKey() + "_seconds";
+            Timer timer = entry.getValue();
+            out.append("# TYPE ").append(name).append(" summary\n");
+            out.append(name).append("_count ").append(timer.getCount()).append('\n');
+            out.append(name).append("_sum ").append(seconds(timer.getTotalNanos())).append('\n');
+            out.append("# TYPE ").append(name).append("_max gauge\n");
+            out.append(name).append("_max ").append(seconds(timer.getMaxNanos())).append('\n');
+        }
+        for (Map.Entry<String, Long> entry : registry.getCounters().entrySet()) {
+            String name = PREFIX + entry.getKey() + "_total";
+            out.append("# TYPE ").append(name).append(" counter\n");
+            out.append(name).append(' ').append(entry.getValue()).append('\n');
+        }
+        for (Map.Entry<String, Long> entry : registry.getGauges().entrySet()) {
+            String name = PREFIX + entry.getKey();
+            out.append("# TYPE ").append(name).append(" gauge\n");
+            out.append(name).append(' ').append(entry.getValue()).append('\n');
+        }
+        return out.toString();
+    }
+
+    public static String toJson(MetricsRegistry registry) {
+        JsonObject timers = new JsonObject();
+        for (Map.Entry<String, Timer> entry : registry.getTimers().entrySet()) {
+            Timer timer = entry.getValue();
+            JsonObject json = new JsonObject();
+            json.addProperty("count", timer.getCount());
+            json.addProperty("totalMillis", timer.getTotalNanos() / 1_000_000.0);
+            json.addProperty("maxMillis", timer.getMaxNanos() / 1_000_000.0);
+            timers.add(entry.getKey(), json);
+        }
+        JsonObject counters = new JsonObject();
+        for (Map.Entry<String, Long> entry : registry.getCounters().entrySet()) {
+            counters.addProperty(entry.getKey(), entry.getValue());
+        }
+        JsonObject gauges = new JsonObject();
+        for (Map.Entry<String, Long> entry : registry.getGauges().entrySet()) {
+            gauges.addProperty(entry.getKey(), entry.getValue());
+        }
+        JsonObject root = new JsonObject();
+        root.add("timers", timers);
+        root.add("counters", counters);
+        root.add("gauges", gauges);
+        return new GsonBuilder().setPrettyPrinting().create().toJson(root) + "\n";
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.6f", nanos / 1e9);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Named timers, counters and gauges for the stages of a run. Components record into {@link #global()},
+ * and {@link MetricsExporter} writes the totals out when the run ends.
+ */
+public class MetricsRegistry {
+
+    // Timers
+    public static final String PAGE_LOAD = "page_load";
+    public static final String ELEMENT_WAIT = "element_wait";
+    public static final String EXTRACTION = "extraction";
+    public static final String HUMAN_CONFIRMATION = "human_confirmation";
+    public static final String SHEETS_API_CALL = "sheets_api_call";
+    public static final String SHEETS_WRITE_WAIT = "sheets_write_wait";
+
+    // Counters
+    public static final String ROWS_EXTRACTED = "rows_extracted";
+    public static final String ROWS_APPENDED = "rows_appended";
+    public static final String ROWS_SKIPPED = "rows_skipped";
+    public static final String ROWS_UPDATED = "rows_updated";
+    public static final String ROWS_UNCHANGED = "rows_unchanged";
+    public static final String ROWS_FAILED = "rows_failed";
+    public static final String SHEETS_API_RETRIES = "sheets_api_retries";
+    public static final String SHEETS_APPENDS_COALESCED = "sheets_appends_coalesced";
+
+    // Gauges
+    public static final String SHEETS_WRITE_QUEUE_DEPTH = "sheets_write_queue_depth";
+
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+
+    /**
+     * @return the registry shared by every component of this process
+     */
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    public Timer timer(String name) {
+        return timers.computeIfAbsent(name, n -> new Timer());
+    }
+
+    public void increment(String counter) {
+        add(counter, 1);
+    }
+
+    public void add(String counter, long amount) {
+        counters.computeIfAbsent(counter, n -> new LongAdder()).add(amount);
+    }
+
+    public long getCount(String counter) {
+        LongAdder adder = counters.get(counter);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    /**
+     * @return every timer recorded so far, sorted by name
+     */
+    public Map<String, Timer> getTimers() {
+        return new TreeMap<>(timers);
+    }
+
+    /**
+     * @return the current value of every counter, sorted by name
+     */
+    public Map<String, Long> getCounters() {
+        Map<String, Long> values = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> counter : counters.entrySet()) {
+            values.put(counter.getKey(), counter.getValue().sum());
+        }
+        return values;
+    }
+
+    /**
+     * Registers a value that is read when the metrics are exported, such as a queue depth.
+     * A later registration under the same name replaces the earlier one.
+     */
+    public void registerGauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    /**
+     * @return the current value of every gauge, sorted by name
+     */
+    public Map<String, Long> getGauges() {
+        Map<String, Long> values = new TreeMap<>();
+        for (Map.Entry<String, LongSupplier> gauge : gauges.entrySet()) {
+            values.put(gauge.getKey(), gauge.getValue().getAsLong());
+        }
+        return values;
+    }
+
+    /**
+     * Drops the timers and counters recorded so far, e.g. between runs sharing a JVM. Gauges stay registered.
+     */
+    public void reset() {
+        timers.clear();
+        counters.clear();
+    }
+}
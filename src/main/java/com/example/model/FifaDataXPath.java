@@ -6,6 +6,14 @@ public enum FifaDataXPath {
     SCORE("//*[@id=\"mw-content-text\"]/div[1]/table[4]/tbody/tr[%d]/td[2]/a[1]"),
     RUNNER_UP("//*[@id=\"mw-content-text\"]/div[1]/table[4]/tbody/tr[%d]/td[3]/span/a");
 
+    /** XPath of the finals table itself; the row patterns above all live under it. */
+    public static final String TABLE_XPATH = "//*[@id=\"mw-content-text\"]/div[1]/table[4]";
+
+    /** XPath matching every row of the finals table, header row first. */
+    public static final String ROWS_XPATH = TABLE_XPATH + "/tbody/tr";
+
+    private static final String ROW_STEP = "/tr[%d]/";
+
     private final String pattern;
 
     FifaDataXPath(String pattern) {
@@ -14,4 +22,11 @@ public enum FifaDataXPath {
     public String getFormattedXPath(int index) {
         return String.format(pattern, index);
     }
-}
\ No newline at end of file
+
+    /**
+     * @return this field's XPath relative to its row element, e.g. {@code ./th/a} for {@link #YEAR}
+     */
+    public String getCellXPath() {
+        return "./" + pattern.substring(pattern.indexOf(ROW_STEP) + ROW_STEP.length());
+    }
+}
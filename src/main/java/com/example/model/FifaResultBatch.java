@@ -0,0 +1,222 @@
+package com.example.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Column-oriented store for many results: years are kept in an {@code int[]}, and the winner, score and
+ * runner-up columns hold {@code int} ids into one dictionary shared by all three columns, so each
+ * distinct team name or score is stored once however many rows repeat it. A row costs 16 bytes plus
+ * its share of the distinct strings.
+ * <p>
+ * {@link #asResults()} and {@link #asSheetRows()} are read-only views over the columns; they copy
+ * nothing up front and create the row objects only as they are read.
+ * Not thread-safe: fill a batch on one thread before handing it on.
+ */
+public final class FifaResultBatch {
+
+    /** Dictionary id stored for a null string. */
+    public static final int NULL_ID = -1;
+
+    private int size;
+    private int[] years;
+    private int[] winnerIds;
+    private int[] scoreIds;
+    private int[] runnerUpIds;
+
+    private final List<String> dictionary = new ArrayList<>();
+    private final Map<String, Integer> idsByValue = new HashMap<>();
+
+    public FifaResultBatch() {
+        this(16);
+    }
+
+    /**
+     * @param expectedRows initial capacity; the batch grows past it as needed
+     */
+    public FifaResultBatch(int expectedRows) {
+        int capacity = Math.max(expectedRows, 1);
+        years = new int[capacity];
+        winnerIds = new int[capacity];
+        scoreIds = new int[capacity];
+        runnerUpIds = new int[capacity];
+    }
+
+    public static FifaResultBatch of(List<FifaFinalResult> results) {
+        FifaResultBatch batch = new FifaResultBatch(results.size());
+        for (FifaFinalResult result : results) {
+            batch.add(result);
+        }
+        return batch;
+    }
+
+    public void add(FifaFinalResult result) {
+        Objects.requireNonNull(result.getYear(), "year");
+        add(result.getYear(), result.getWinner(), result.getScore(), result.getRunnerUp());
+    }
+
+    public void add(int year, String winner, String score, String runnerUp) {
+        if (size == years.length) {
+            int capacity = size + (size >> 1) + 1;
+            years = Arrays.copyOf(years, capacity);
+            winnerIds = Arrays.copyOf(winnerIds, capacity);
+            scoreIds = Arrays.copyOf(scoreIds, capacity);
+            runnerUpIds = Arrays.copyOf(runnerUpIds, capacity);
+        }
+        years[size] = year;
+        winnerIds[size] = idOf(winner);
+        scoreIds[size] = idOf(score);
+        runnerUpIds[size] = idOf(runnerUp);
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getYear(int row) {
+        return years[checkRow(row)];
+    }
+
+    public String getWinner(int row) {
+        return valueOf(getWinnerId(row));
+    }
+
+    public String getScore(int row) {
+        return valueOf(getScoreId(row));
+    }
+
+    public String getRunnerUp(int row) {
+        return valueOf(getRunnerUpId(row));
+    }
+
+    public int getWinnerId(int row) {
+        return winnerIds[checkRow(row)];
+    }
+
+    public int getScoreId(int row) {
+        return scoreIds[checkRow(row)];
+    }
+
+    public int getRunnerUpId(int row) {
+        return runnerUpIds[checkRow(row)];
+    }
+
+    /**
+     * @return number of distinct strings across the three string columns
+     */
+    public int getDictionarySize() {
+        return dictionary.size();
+    }
+
+    /**
+     * @return the string with dictionary id {@code id}, or null for {@link #NULL_ID}
+     */
+    public String valueOf(int id) {
+        return id == NULL_ID ? null : dictionary.get(id);
+    }
+
+    public FifaFinalResult get(int row) {
+        checkRow(row);
+        return new FifaFinalResult(years[row], valueOf(winnerIds[row]), valueOf(scoreIds[row]), valueOf(runnerUpIds[row]));
+    }
+
+    /**
+     * @return a read-only, random-access view of the rows as {@link FifaFinalResult}s
+     */
+    public List<FifaFinalResult> asResults() {
+        return new ResultsView();
+    }
+
+    /**
+     * @return a read-only view of the rows as Sheets values ({@code [year, winner, score, runnerUp]}),
+     *         in the column order of the sheet header
+     */
+    public List<List<Object>> asSheetRows() {
+        return new SheetRowsView();
+    }
+
+    private int idOf(String value) {
+        if (value == null) {
+            return NULL_ID;
+        }
+        Integer id = idsByValue.get(value);
+        if (id == null) {
+            id = dictionary.size();
+            dictionary.add(value);
+            idsByValue.put(value, id);
+        }
+        return id;
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+        }
+        return row;
+    }
+
+    private final class ResultsView extends AbstractList<FifaFinalResult> implements RandomAccess {
+        @Override
+        public FifaFinalResult get(int row) {
+            return FifaResultBatch.this.get(row);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private final class SheetRowsView extends AbstractList<List<Object>> implements RandomAccess {
+        @Override
+        public List<Object> get(int row) {
+            checkRow(row);
+            return new SheetRow(row);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private final class SheetRow extends AbstractList<Object> implements RandomAccess {
+        private final int row;
+
+        private SheetRow(int row) {
+            this.row = row;
+        }
+
+        @Override
+        public Object get(int column) {
+            switch (column) {
+                case 0:
+                    return years[row];
+                case 1:
+                    return valueOf(winnerIds[row]);
+                case 2:
+                    return valueOf(scoreIds[row]);
+                case 3:
+                    return valueOf(runnerUpIds[row]);
+                default:
+                    throw new IndexOutOfBoundsException("Column " + column + " of 4");
+            }
+        }
+
+        @Override
+        public int size() {
+            return 4;
+        }
+    }
+}
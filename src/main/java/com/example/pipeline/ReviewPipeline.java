@@ -0,0 +1,116 @@
+package com.example.pipeline;
+
+import com.example.extractor.FifaResultExtractor;
+import com.example.metrics.MetricsRegistry;
+import com.example.model.FifaFinalResult;
+import com.example.sink.ResultSink;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Function;
+
+/**
+ * Runs extract → confirm → write as three stages connected by bounded queues:
+ * extraction runs on its own thread and {@link FifaResultExtractor#streamResults streams} results into a queue,
+ * keeping up to {@code queueCapacity} of them ahead of the reviewer,
+ * the review happens on the calling thread, and approved rows go straight to a {@link ResultSink}
+ * such as {@link com.example.gsheets.StreamingSheetsSink}, which writes them from its own thread.
+ * Human think-time then overlaps with scraping and API latency.
+ */
+public class ReviewPipeline {
+
+    // Identity-compared marker telling the review stage that extraction is done.
+    private static final FifaFinalResult END_OF_EXTRACTION = new FifaFinalResult();
+
+    private final FifaResultExtractor extractor;
+    private final int maxRows;
+    private final int queueCapacity;
+
+    /**
+     * @param extractor     extraction stage; must not share a browser with the reviewer
+     * @param maxRows       number of table rows handed to the extractor
+     * @param queueCapacity how many extracted results may wait for review
+     */
+    public ReviewPipeline(FifaResultExtractor extractor, int maxRows, int queueCapacity) {
+        this.extractor = extractor;
+        this.maxRows = maxRows;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * @param reviewer maps each result to "append" or "skip", or ends the review with "quit", "timeout" or "error"
+     * @param sink     destination of approved results
+     */
+    public Summary run(Function<FifaFinalResult, String> reviewer, ResultSink sink) throws IOException, InterruptedException {
+        BlockingQueue<FifaFinalResult> extracted = new ArrayBlockingQueue<>(queueCapacity);
+        Summary summary = new Summary();
+        Thread extractionStage = new Thread(() -> runExtraction(extracted, summary), "pipeline-extraction");
+        extractionStage.setDaemon(true);
+        extractionStage.start();
+
+        try {
+            while (true) {
+                FifaFinalResult result = extracted.take();
+                if (result == END_OF_EXTRACTION) {
+                    break;
+                }
+                summary.offered++;
+                String choice = reviewer.apply(result);
+                System.out.println("DEBUG (Pipeline): User choice for year " + result.getYear() + ": '" + choice + "'");
+                if ("append".equals(choice)) {
+                    summary.confirmed.add(result);
+                    sink.write(Collections.singletonList(result));
+                } else if ("quit".equals(choice) || "timeout".equals(choice) || "error".equals(choice)) {
+                    // A timed out or failed page would likely repeat for every following row, each one waiting in full
+                    System.out.println("INFO (Pipeline): Review ended with '" + choice + "'. Stopping extraction.");
+                    summary.quit = "quit".equals(choice);
+                    summary.endedWith = choice;
+                    break;
+                } else {
+                    MetricsRegistry.global().increment(MetricsRegistry.ROWS_SKIPPED);
+                }
+            }
+        } finally {
+            extractionStage.interrupt();
+            // Results extracted ahead of the review are dropped, not reviewed
+            extracted.clear();
+        }
+        return summary;
+    }
+
+    private void runExtraction(BlockingQueue<FifaFinalResult> extracted, Summary summary) {
+        try {
+            try {
+                // Each result is up for review as soon as it is read, while the extractor carries on
+                extractor.streamResults(maxRows, extracted::put);
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                System.err.println("ERROR (Pipeline): Extraction stage failed: " + e.getMessage());
+                summary.extractionError = e;
+            }
+            extracted.put(END_OF_EXTRACTION);
+        } catch (InterruptedException e) {
+            // Review stage stopped early; nothing left to hand over.
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Outcome of a pipeline run, safe to read once {@link #run} has returned.
+     */
+    @Getter
+    public static class Summary {
+        private int offered;
+        private final List<FifaFinalResult> confirmed = new ArrayList<>();
+        private boolean quit;
+        /** "quit", "timeout" or "error" if that choice ended the review before every result was offered, else null. */
+        private String endedWith;
+        private volatile Exception extractionError;
+    }
+}
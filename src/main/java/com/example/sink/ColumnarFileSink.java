@@ -0,0 +1,222 @@
+package com.example.sink;
+
+import com.example.model.FifaFinalResult;
+import com.example.model.FifaResultBatch;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Appends results to a compact binary file laid out column by column. The file starts with
+ * {@link #MAGIC} and a version byte, followed by one block per batch:
+ * <pre>
+ *   int rowCount
+ *   int[rowCount]      year
+ *   string[rowCount]   winner      (each string: int byteLength, UTF-8 bytes; -1 for null)
+ *   string[rowCount]   score
+ *   string[rowCount]   runnerUp
+ * </pre>
+ * All integers are big-endian. {@link #readAll(Path)} reads a file back.
+ */
+public class ColumnarFileSink implements ResultSink {
+
+    static final int MAGIC = 0x544E5243; // "TNRC"
+    static final byte VERSION = 1;
+
+    private final Path file;
+    private final DataOutputStream out;
+    private int rowsWritten;
+    private boolean closed;
+    private Consumer<List<FifaFinalResult>> writeListener;
+
+    public ColumnarFileSink(Path file) throws IOException {
+        this.file = file;
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        boolean isNew = !Files.exists(file) || Files.size(file) == 0;
+        this.out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND), 64 * 1024));
+        if (isNew) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+        }
+    }
+
+    @Override
+    public synchronized void write(List<FifaFinalResult> batch) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Sink is already closed: " + file);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        out.writeInt(batch.size());
+        for (FifaFinalResult result : batch) {
+            out.writeInt(result.getYear());
+        }
+        for (FifaFinalResult result : batch) {
+            writeString(result.getWinner());
+        }
+        for (FifaFinalResult result : batch) {
+            writeString(result.getScore());
+        }
+        for (FifaFinalResult result : batch) {
+            writeString(result.getRunnerUp());
+        }
+        rowsWritten += batch.size();
+        reportWritten(batch);
+    }
+
+    /**
+     * Copies the year column straight from the batch and encodes each distinct string only once.
+     */
+    @Override
+    public synchronized void write(FifaResultBatch batch) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Sink is already closed: " + file);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        int rows = batch.size();
+        byte[][] encoded = new byte[batch.getDictionarySize()][];
+        out.writeInt(rows);
+        for (int row = 0; row < rows; row++) {
+            out.writeInt(batch.getYear(row));
+        }
+        for (int row = 0; row < rows; row++) {
+            writeEncoded(batch, encoded, batch.getWinnerId(row));
+        }
+        for (int row = 0; row < rows; row++) {
+            writeEncoded(batch, encoded, batch.getScoreId(row));
+        }
+        for (int row = 0; row < rows; row++) {
+            writeEncoded(batch, encoded, batch.getRunnerUpId(row));
+        }
+        rowsWritten += rows;
+        reportWritten(batch.asResults());
+    }
+
+    /**
+     * With a listener, every block is flushed to the file before the listener hears about its rows.
+     */
+    @Override
+    public synchronized void setWriteListener(Consumer<List<FifaFinalResult>> listener) {
+        this.writeListener = listener;
+    }
+
+    private void reportWritten(List<FifaFinalResult> block) throws IOException {
+        if (writeListener != null) {
+            out.flush();
+            writeListener.accept(block);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        out.close();
+    }
+
+    @Override
+    public synchronized int getRowsWritten() {
+        return rowsWritten;
+    }
+
+    @Override
+    public List<FifaFinalResult> getFailedRows() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public String toString() {
+        return "columnar:" + file;
+    }
+
+    /**
+     * Reads every block of a file written by this sink, in write order.
+     */
+    public static List<FifaFinalResult> readAll(Path file) throws IOException {
+        List<FifaFinalResult> results = new ArrayList<>();
+        try (InputStream raw = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(raw, 64 * 1024))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a columnar results file: " + file);
+            }
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported columnar results version " + version + " in " + file);
+            }
+            while (true) {
+                int rows;
+                try {
+                    rows = in.readInt();
+                } catch (EOFException e) {
+                    return results;
+                }
+                int[] years = new int[rows];
+                for (int i = 0; i < rows; i++) {
+                    years[i] = in.readInt();
+                }
+                String[][] strings = new String[3][rows];
+                for (String[] column : strings) {
+                    for (int i = 0; i < rows; i++) {
+                        column[i] = readString(in);
+                    }
+                }
+                for (int i = 0; i < rows; i++) {
+                    results.add(new FifaFinalResult(years[i], strings[0][i], strings[1][i], strings[2][i]));
+                }
+            }
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private void writeEncoded(FifaResultBatch batch, byte[][] encoded, int id) throws IOException {
+        if (id == FifaResultBatch.NULL_ID) {
+            out.writeInt(-1);
+            return;
+        }
+        if (encoded[id] == null) {
+            encoded[id] = batch.valueOf(id).getBytes(StandardCharsets.UTF_8);
+        }
+        out.writeInt(encoded[id].length);
+        out.write(encoded[id]);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
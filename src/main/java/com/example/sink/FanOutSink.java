@@ -0,0 +1,213 @@
+package com.example.sink;
+
+import com.example.model.FifaFinalResult;
+import com.example.model.FifaResultBatch;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Writes every batch to several sinks. A sink that fails does not keep the batch from reaching the others;
+ * the first failure is rethrown once all sinks have been tried, with later ones attached as suppressed exceptions.
+ * A {@link #setWriteListener write listener} hears about a result once every sink has reported it written.
+ * Reports are matched to the results handed out, one sink at a time and in write order, so two equal results
+ * in flight are still told apart.
+ */
+public class FanOutSink implements ResultSink {
+
+    private final List<ResultSink> sinks;
+    // Per sink, in write order, the results handed to it that it has not reported written yet
+    private final List<Deque<Pending>> unreported = new ArrayList<>();
+    private volatile Consumer<List<FifaFinalResult>> writeListener;
+
+    public FanOutSink(List<? extends ResultSink> sinks) {
+        if (sinks.isEmpty()) {
+            throw new IllegalArgumentException("At least one sink is required");
+        }
+        this.sinks = Collections.unmodifiableList(new ArrayList<>(sinks));
+        for (int i = 0; i < sinks.size(); i++) {
+            unreported.add(new ArrayDeque<Pending>());
+        }
+    }
+
+    @Override
+    public void setWriteListener(Consumer<List<FifaFinalResult>> listener) {
+        this.writeListener = listener;
+        for (int i = 0; i < sinks.size(); i++) {
+            int sink = i;
+            sinks.get(i).setWriteListener(listener == null ? null : written -> onWritten(sink, written));
+        }
+    }
+
+    /**
+     * Registers the results about to be handed to the sinks, before any sink can report them.
+     */
+    private void expect(List<FifaFinalResult> batch) {
+        if (writeListener == null) {
+            return;
+        }
+        synchronized (unreported) {
+            List<Pending> pending = new ArrayList<>(batch.size());
+            for (FifaFinalResult result : batch) {
+                pending.add(new Pending(result));
+            }
+            for (Deque<Pending> queue : unreported) {
+                queue.addAll(pending);
+            }
+        }
+    }
+
+    private void onWritten(int sink, List<FifaFinalResult> written) {
+        List<FifaFinalResult> everywhere = new ArrayList<>();
+        synchronized (unreported) {
+            Deque<Pending> queue = unreported.get(sink);
+            for (FifaFinalResult result : written) {
+                Pending match = takeFirstMatch(queue, result);
+                if (match != null && ++match.reports == sinks.size()) {
+                    everywhere.add(match.result);
+                }
+            }
+        }
+        Consumer<List<FifaFinalResult>> listener = writeListener;
+        if (listener != null && !everywhere.isEmpty()) {
+            listener.accept(everywhere);
+        }
+    }
+
+    /**
+     * Sinks report in write order, so the oldest unreported equal result is the one reported. Results passed over
+     * on the way to it were never written by this sink (e.g. a failed chunk) and are dropped.
+     *
+     * @return the matching entry, or null if the sink reported a result it was not handed through this fan-out
+     */
+    private static Pending takeFirstMatch(Deque<Pending> queue, FifaFinalResult result) {
+        boolean found = false;
+        for (Pending pending : queue) {
+            if (pending.result.equals(result)) {
+                found = true;
+                break;
+            }
+        }
+        if (!found) {
+            return null;
+        }
+        Pending next;
+        do {
+            next = queue.pollFirst();
+        } while (!next.result.equals(result));
+        return next;
+    }
+
+    @Override
+    public void write(List<FifaFinalResult> batch) throws IOException, InterruptedException {
+        expect(batch);
+        IOException failure = null;
+        for (ResultSink sink : sinks) {
+            try {
+                sink.write(batch);
+            } catch (IOException e) {
+                System.err.println("ERROR (Fan-out): Could not write " + batch.size() + " results to " + sink + ": " + e.getMessage());
+                failure = chain(failure, e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Passes the batch itself to every sink, so each can read the columns its own way.
+     */
+    @Override
+    public void write(FifaResultBatch batch) throws IOException, InterruptedException {
+        expect(batch.asResults());
+        IOException failure = null;
+        for (ResultSink sink : sinks) {
+            try {
+                sink.write(batch);
+            } catch (IOException e) {
+                System.err.println("ERROR (Fan-out): Could not write " + batch.size() + " results to " + sink + ": " + e.getMessage());
+                failure = chain(failure, e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Override
+    public void close() throws IOException, InterruptedException {
+        IOException failure = null;
+        for (ResultSink sink : sinks) {
+            try {
+                sink.close();
+            } catch (IOException e) {
+                System.err.println("ERROR (Fan-out): Could not close " + sink + ": " + e.getMessage());
+                failure = chain(failure, e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * @return results that reached every sink
+     */
+    @Override
+    public int getRowsWritten() {
+        int rows = Integer.MAX_VALUE;
+        for (ResultSink sink : sinks) {
+            rows = Math.min(rows, sink.getRowsWritten());
+        }
+        return rows;
+    }
+
+    /**
+     * @return results that at least one sink failed to write, without duplicates
+     */
+    @Override
+    public List<FifaFinalResult> getFailedRows() {
+        Set<FifaFinalResult> failed = new LinkedHashSet<>();
+        for (ResultSink sink : sinks) {
+            failed.addAll(sink.getFailedRows());
+        }
+        return new ArrayList<>(failed);
+    }
+
+    public List<ResultSink> getSinks() {
+        return sinks;
+    }
+
+    @Override
+    public String toString() {
+        return sinks.toString();
+    }
+
+    /**
+     * One result handed to the sinks by one write; counts the sinks that reported it written.
+     */
+    private static final class Pending {
+        private final FifaFinalResult result;
+        private int reports;
+
+        private Pending(FifaFinalResult result) {
+            this.result = result;
+        }
+    }
+
+    private static IOException chain(IOException first, IOException next) {
+        if (first == null) {
+            return next;
+        }
+        first.addSuppressed(next);
+        return first;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.sink;
+
+import com.example.model.FifaFinalResult;
+import com.example.model.FifaResultBatch;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Destination for confirmed results. {@link com.example.App} writes every batch it accepts to one sink,
+ * which may be Google Sheets, a local file, or a {@link FanOutSink} over several of them.
+ */
+public interface ResultSink extends AutoCloseable {
+
+    /**
+     * Hands a batch to the sink. Sinks may buffer; everything accepted is written by {@link #close()} at the latest.
+     */
+    void write(List<FifaFinalResult> batch) throws IOException, InterruptedException;
+
+    /**
+     * Hands a columnar batch to the sink. Sinks that can read the columns directly override this;
+     * the default goes through the batch's {@link FifaResultBatch#asResults() row view}.
+     */
+    default void write(FifaResultBatch batch) throws IOException, InterruptedException {
+        write(batch.asResults());
+    }
+
+    /**
+     * Registers a callback that receives results once they have reached the destination, e.g. per appended
+     * chunk, so callers can record progress while the sink is still open. It may be called from the sink's own
+     * thread. The default never calls it; results of such sinks are only known to be written once {@link #close()} returns.
+     */
+    default void setWriteListener(Consumer<List<FifaFinalResult>> listener) {
+    }
+
+    /**
+     * Flushes buffered results and releases the destination. Closing twice has no effect.
+     */
+    @Override
+    void close() throws IOException, InterruptedException;
+
+    /**
+     * @return results known to have reached the destination
+     */
+    int getRowsWritten();
+
+    /**
+     * @return results the sink accepted but could not write
+     */
+    List<FifaFinalResult> getFailedRows();
+}
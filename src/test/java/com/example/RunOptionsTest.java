@@ -0,0 +1,25 @@
+package com.example;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests command-line parsing in {@link RunOptions#fromArgs}.
+ */
+public class RunOptionsTest extends TestCase {
+
+    public void testSkipUnchangedAppliesToTheSourcePage() {
+        RunOptions options = RunOptions.fromArgs(new String[]{"--skip-unchanged", "https://example.org/finals"});
+
+        assertTrue(options.isSkipIfUnchanged());
+        assertEquals("https://example.org/finals", options.getSourceLocation());
+    }
+
+    public void testSkipUnchangedIsRejectedWithJobs() {
+        try {
+            RunOptions.fromArgs(new String[]{"--jobs=jobs.json", "--skip-unchanged"});
+            fail("Expected --skip-unchanged with --jobs to be rejected");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("--jobs"));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.automator;
+
+import junit.framework.TestCase;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+public class ConfirmationServerTest extends TestCase {
+
+    private ConfirmationServer server;
+
+    @Override
+    protected void setUp() throws Exception {
+        server = ConfirmationServer.start();
+    }
+
+    @Override
+    protected void tearDown() {
+        server.close();
+    }
+
+    public void testServesPageAndCompletesChoiceOnPost() throws Exception {
+        ConfirmationServer.Pending page = server.publish("<html><body>1930 – Uruguay</body></html>");
+        assertTrue(page.getUrl().startsWith("http://127.0.0.1:"));
+
+        assertEquals("<html><body>1930 – Uruguay</body></html>", get(page.getUrl()));
+        assertFalse(page.getChoice().isDone());
+
+        assertEquals(204, post(page.getUrl(), "append"));
+        assertEquals("append", page.getChoice().get(1, TimeUnit.SECONDS));
+        // A page accepts one choice only
+        assertEquals(404, post(page.getUrl(), "quit"));
+    }
+
+    public void testWithdrawnAndUnknownPagesAreNotServed() throws Exception {
+        ConfirmationServer.Pending page = server.publish("<html></html>");
+        server.withdraw(page);
+
+        assertEquals(404, status(page.getUrl()));
+        assertEquals(404, status(page.getUrl().substring(0, page.getUrl().lastIndexOf('/') + 1) + "unknown"));
+    }
+
+    public void testCloseCancelsPendingChoices() {
+        ConfirmationServer.Pending page = server.publish("<html></html>");
+        server.close();
+        assertTrue(page.getChoice().isCancelled());
+    }
+
+    static String get(String url) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        assertEquals(200, connection.getResponseCode());
+        try (InputStream in = connection.getInputStream()) {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                body.write(buffer, 0, read);
+            }
+            return new String(body.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    static int post(String url, String choice) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(choice.getBytes(StandardCharsets.UTF_8));
+        }
+        return connection.getResponseCode();
+    }
+
+    private static int status(String url) throws IOException {
+        return ((HttpURLConnection) new URL(url).openConnection()).getResponseCode();
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.automator;
+
+import com.example.model.FifaFinalResult;
+import junit.framework.TestCase;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the confirmation pages rendered by {@link WebUIAutomator}.
+ */
+public class WebUIAutomatorTest extends TestCase {
+
+    public void testBatchReviewPageListsEveryResultWithACheckbox() {
+        String page = new WebUIAutomator().buildBatchReviewPage(Arrays.asList(
+                new FifaFinalResult(1930, "Uruguay", "4–2", "Argentina"),
+                new FifaFinalResult(1934, "Italy", "2–1", "Czechoslovakia")));
+
+        assertTrue(page.contains("value='0' checked"));
+        assertTrue(page.contains("value='1' checked"));
+        assertTrue(page.contains("<td>Czechoslovakia</td>"));
+    }
+
+    public void testBatchReviewPageEscapesCellText() {
+        String page = new WebUIAutomator().buildBatchReviewPage(Collections.singletonList(
+                new FifaFinalResult(1966, "<b>England</b>", "4–2 (a.e.t.)", "O'Neill & Co")));
+
+        assertTrue(page.contains("<td>&lt;b&gt;England&lt;/b&gt;</td>"));
+        assertTrue(page.contains("<td>O&#39;Neill &amp; Co</td>"));
+    }
+
+    public void testBatchSelectionWithoutDriverSelectsNothing() {
+        assertTrue(new WebUIAutomator().getUserSelectionFromBatchPage(null,
+                Collections.singletonList(new FifaFinalResult(1970, "Brazil", "4–1", "Italy"))).isEmpty());
+    }
+
+    public void testConfirmationPageEscapesFields() {
+        String page = new WebUIAutomator().buildConfirmationPage(new FifaFinalResult(1966, "<b>England</b>", "4–2 (a.e.t.)", "West Germany"));
+
+        assertTrue(page.contains("<strong>Year:</strong> 1966</div>"));
+        assertTrue(page.contains("<strong>Winner:</strong> &lt;b&gt;England&lt;/b&gt;</div>"));
+    }
+
+    public void testChoicePostedByThePageIsReturned() throws Exception {
+        CompletableFuture<Void> posted = new CompletableFuture<>();
+        try (WebUIAutomator automator = new WebUIAutomator()) {
+            String choice = automator.getUserChoiceFromWebPage(clickingDriver("append", posted), new FifaFinalResult(1930, "Uruguay", "4–2", "Argentina"));
+            assertEquals("append", choice);
+        }
+        posted.get(5, TimeUnit.SECONDS);
+    }
+
+    public void testBatchSelectionPostedByThePageIsReturned() throws Exception {
+        List<FifaFinalResult> results = Arrays.asList(
+                new FifaFinalResult(1930, "Uruguay", "4–2", "Argentina"),
+                new FifaFinalResult(1934, "Italy", "2–1", "Czechoslovakia"),
+                new FifaFinalResult(1938, "Italy", "4–2", "Hungary"));
+        CompletableFuture<Void> posted = new CompletableFuture<>();
+        try (WebUIAutomator automator = new WebUIAutomator()) {
+            assertEquals(Arrays.asList(results.get(0), results.get(2)),
+                    automator.getUserSelectionFromBatchPage(clickingDriver("submit:0,2", posted), results));
+        }
+        posted.get(5, TimeUnit.SECONDS);
+    }
+
+    public void testQuitOnTheBatchPageIsNotASelection() throws Exception {
+        CompletableFuture<Void> posted = new CompletableFuture<>();
+        try (WebUIAutomator automator = new WebUIAutomator()) {
+            assertNull(automator.getUserSelectionFromBatchPage(clickingDriver("quit", posted),
+                    Collections.singletonList(new FifaFinalResult(1930, "Uruguay", "4–2", "Argentina"))));
+        }
+        posted.get(5, TimeUnit.SECONDS);
+    }
+
+    public void testInvalidBatchSubmissionIsNotASelection() throws Exception {
+        List<FifaFinalResult> results = Collections.singletonList(new FifaFinalResult(1930, "Uruguay", "4–2", "Argentina"));
+        CompletableFuture<Void> posted = new CompletableFuture<>();
+        try (WebUIAutomator automator = new WebUIAutomator()) {
+            assertNull(automator.getUserSelectionFromBatchPage(clickingDriver("append", posted), results));
+        }
+        posted.get(5, TimeUnit.SECONDS);
+        assertNull(WebUIAutomator.parseBatchSelection("submit:0,x", results));
+        assertNull(WebUIAutomator.parseBatchSelection("submit:1", results));
+        assertNull(WebUIAutomator.parseBatchSelection("submit:-1", results));
+        assertEquals(results, WebUIAutomator.parseBatchSelection("submit:0,", results));
+        assertTrue(WebUIAutomator.parseBatchSelection("submit:", results).isEmpty());
+    }
+
+    public void testRepeatedOrReorderedBatchIndexesAreRejected() {
+        List<FifaFinalResult> results = Arrays.asList(
+                new FifaFinalResult(1930, "Uruguay", "4–2", "Argentina"),
+                new FifaFinalResult(1934, "Italy", "2–1", "Czechoslovakia"),
+                new FifaFinalResult(1938, "Italy", "4–2", "Hungary"));
+
+        assertNull(WebUIAutomator.parseBatchSelection("submit:0,0", results));
+        assertNull(WebUIAutomator.parseBatchSelection("submit:2,0", results));
+        assertNull(WebUIAutomator.parseBatchSelection("submit:0,2,1", results));
+        assertEquals(Arrays.asList(results.get(0), results.get(2)), WebUIAutomator.parseBatchSelection("submit:0,2", results));
+    }
+
+    /**
+     * Driver whose "user" loads every confirmation page it is sent to and posts {@code choice} back, like a click on the
+     * page would. The post completes {@code posted}, so a failure on the user thread fails the test.
+     */
+    private static WebDriver clickingDriver(String choice, CompletableFuture<Void> posted) {
+        return (WebDriver) Proxy.newProxyInstance(WebUIAutomatorTest.class.getClassLoader(), new Class<?>[]{WebDriver.class},
+                (proxy, method, args) -> {
+                    if ("get".equals(method.getName()) && ((String) args[0]).startsWith("http://127.0.0.1")) {
+                        String url = (String) args[0];
+                        Thread user = new Thread(() -> {
+                            try {
+                                assertTrue(ConfirmationServerTest.get(url).contains("sendChoice"));
+                                ConfirmationServerTest.post(url, choice);
+                                posted.complete(null);
+                            } catch (Throwable e) {
+                                posted.completeExceptionally(e);
+                            }
+                        });
+                        user.setDaemon(true);
+                        user.start();
+                    }
+                    return null;
+                });
+    }
+}
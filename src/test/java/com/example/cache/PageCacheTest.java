@@ -0,0 +1,112 @@
+package com.example.cache;
+
+import com.sun.net.httpserver.HttpServer;
+import junit.framework.TestCase;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests conditional revalidation against a local HTTP server that honours If-None-Match.
+ */
+public class PageCacheTest extends TestCase {
+
+    private HttpServer server;
+    private Path cacheDir;
+    private volatile String pageBody = "<html><body>v1</body></html>";
+    private volatile String pageEtag = "\"v1\"";
+    private final AtomicInteger fullResponses = new AtomicInteger();
+    private final AtomicInteger notModifiedResponses = new AtomicInteger();
+
+    @Override
+    protected void setUp() throws Exception {
+        cacheDir = Files.createTempDirectory("page-cache-test");
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/page", exchange -> {
+            if (pageEtag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModifiedResponses.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            fullResponses.incrementAndGet();
+            byte[] bytes = pageBody.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/html; charset=UTF-8");
+            exchange.getResponseHeaders().set("ETag", pageEtag);
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+    }
+
+    @Override
+    protected void tearDown() {
+        server.stop(0);
+    }
+
+    private String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/page";
+    }
+
+    public void testServesNotModifiedFromDiskOnNextRun() throws Exception {
+        CachedPage first = new PageCache(cacheDir, Duration.ZERO).fetch(url());
+        assertFalse(first.isServedFromCache());
+        assertFalse(first.isUnchanged());
+
+        // A new instance stands in for the next scheduled run.
+        CachedPage second = new PageCache(cacheDir, Duration.ZERO).fetch(url());
+
+        assertTrue(second.isServedFromCache());
+        assertTrue(second.isUnchanged());
+        assertEquals(first.getBody(), second.getBody());
+        assertEquals(1, fullResponses.get());
+        assertEquals(1, notModifiedResponses.get());
+    }
+
+    public void testDownloadsAgainWhenPageChanges() throws Exception {
+        new PageCache(cacheDir, Duration.ZERO).fetch(url());
+        pageBody = "<html><body>v2</body></html>";
+        pageEtag = "\"v2\"";
+
+        CachedPage changed = new PageCache(cacheDir, Duration.ZERO).fetch(url());
+
+        assertFalse(changed.isServedFromCache());
+        assertFalse(changed.isUnchanged());
+        assertTrue(changed.getBody().contains("v2"));
+        assertEquals(2, fullResponses.get());
+    }
+
+    public void testOnlyContentMarkedProcessedCountsAsProcessed() throws Exception {
+        CachedPage first = new PageCache(cacheDir, Duration.ZERO).fetch(url());
+        // A run that stopped early fetched the page but never marked it
+        CachedPage second = new PageCache(cacheDir, Duration.ZERO).fetch(url());
+        assertTrue(second.isUnchanged());
+        assertFalse(new PageCache(cacheDir, Duration.ZERO).isProcessed(url(), second.getContentHash()));
+
+        new PageCache(cacheDir, Duration.ZERO).markProcessed(url(), first.getContentHash());
+        pageBody = "<html><body>v2</body></html>";
+        pageEtag = "\"v2\"";
+        PageCache cache = new PageCache(cacheDir, Duration.ZERO);
+        CachedPage changed = cache.fetch(url());
+
+        // The new download keeps the hash of the content last processed
+        assertFalse(cache.isProcessed(url(), changed.getContentHash()));
+        assertTrue(cache.isProcessed(url(), first.getContentHash()));
+    }
+
+    public void testReusesFreshPageWithinProcessWithoutRequest() throws Exception {
+        PageCache cache = new PageCache(cacheDir, Duration.ofMinutes(1));
+        cache.fetch(url());
+        cache.fetch(url());
+
+        assertEquals(1, fullResponses.get());
+        assertEquals(0, notModifiedResponses.get());
+    }
+}
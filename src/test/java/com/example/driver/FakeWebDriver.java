@@ -0,0 +1,126 @@
+package com.example.driver;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * In-memory {@link WebDriver} for tests that need a session but no real browser.
+ * Records navigation and cookie clearing, and can be made to fail like a crashed browser.
+ */
+public class FakeWebDriver implements WebDriver {
+
+    private String currentUrl = "about:blank";
+    private boolean quit;
+    private boolean crashed;
+    private int cookieClears;
+
+    public void crash() {
+        crashed = true;
+    }
+
+    public boolean isQuit() {
+        return quit;
+    }
+
+    public int getCookieClears() {
+        return cookieClears;
+    }
+
+    private void checkAlive() {
+        if (quit || crashed) {
+            throw new NoSuchSessionException("Session is gone");
+        }
+    }
+
+    @Override
+    public void get(String url) {
+        checkAlive();
+        currentUrl = url;
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        checkAlive();
+        return currentUrl;
+    }
+
+    @Override
+    public String getTitle() {
+        checkAlive();
+        return "";
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        checkAlive();
+        return Collections.emptyList();
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        checkAlive();
+        throw new NoSuchElementException("Fake driver has no elements: " + by);
+    }
+
+    @Override
+    public String getPageSource() {
+        checkAlive();
+        return "<html></html>";
+    }
+
+    @Override
+    public void close() {
+        checkAlive();
+    }
+
+    @Override
+    public void quit() {
+        quit = true;
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        checkAlive();
+        return new LinkedHashSet<>(Collections.singletonList("main"));
+    }
+
+    @Override
+    public String getWindowHandle() {
+        checkAlive();
+        return "main";
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        checkAlive();
+        return (TargetLocator) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{TargetLocator.class},
+                (proxy, method, args) -> this);
+    }
+
+    @Override
+    public Navigation navigate() {
+        throw new UnsupportedOperationException("navigate() is not faked");
+    }
+
+    @Override
+    public Options manage() {
+        checkAlive();
+        return (Options) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Options.class},
+                (proxy, method, args) -> {
+                    if ("deleteAllCookies".equals(method.getName())) {
+                        cookieClears++;
+                        return null;
+                    }
+                    throw new UnsupportedOperationException(method.getName() + " is not faked");
+                });
+    }
+}
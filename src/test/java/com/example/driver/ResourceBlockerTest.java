@@ -0,0 +1,65 @@
+package com.example.driver;
+
+import junit.framework.TestCase;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+/**
+ * Tests which requests the lean profile's DevTools filter answers itself.
+ */
+public class ResourceBlockerTest extends TestCase {
+
+    private static HttpRequest request(String url, String accept) {
+        HttpRequest request = new HttpRequest(HttpMethod.GET, url);
+        if (accept != null) {
+            request.addHeader("Accept", accept);
+        }
+        return request;
+    }
+
+    public void testLetsPageAndSameSiteScriptsThrough() {
+        ResourceBlocker blocker = new ResourceBlocker();
+        assertFalse(blocker.shouldBlock(request("https://en.wikipedia.org/wiki/List_of_FIFA_World_Cup_finals", "text/html,application/xhtml+xml")));
+        assertFalse(blocker.shouldBlock(request("https://en.wikipedia.org/w/load.php?modules=startup", "*/*")));
+        assertFalse(blocker.shouldBlock(request("https://meta.wikipedia.org/w/index.php?action=raw", "*/*")));
+    }
+
+    public void testBlocksImagesFontsAndMedia() {
+        ResourceBlocker blocker = new ResourceBlocker();
+        blocker.shouldBlock(request("https://en.wikipedia.org/wiki/Main_Page", "text/html"));
+
+        assertTrue(blocker.shouldBlock(request("https://en.wikipedia.org/static/images/icons/wikipedia.png", "*/*")));
+        assertTrue(blocker.shouldBlock(request("https://en.wikipedia.org/w/thumb?f=Cup", "image/avif,image/webp,*/*")));
+        assertTrue(blocker.shouldBlock(request("https://en.wikipedia.org/fonts/Linux.WOFF2", "*/*")));
+        HttpRequest video = request("https://en.wikipedia.org/w/clip", "*/*");
+        video.addHeader("Sec-Fetch-Dest", "video");
+        assertTrue(blocker.shouldBlock(video));
+    }
+
+    public void testBlocksThirdPartyRequestsOfTheCurrentPage() {
+        ResourceBlocker blocker = new ResourceBlocker();
+        blocker.shouldBlock(request("https://en.wikipedia.org/wiki/Main_Page", "text/html"));
+        assertTrue(blocker.shouldBlock(request("https://upload.wikimedia.org/x.js", "*/*")));
+
+        // Navigating elsewhere makes that site the first party
+        blocker.shouldBlock(request("https://www.wikimedia.org/", "text/html"));
+        assertFalse(blocker.shouldBlock(request("https://upload.wikimedia.org/x.js", "*/*")));
+    }
+
+    public void testAnswersBlockedRequestsWithoutCallingTheNetwork() throws Exception {
+        ResourceBlocker blocker = new ResourceBlocker();
+        HttpResponse response = blocker.apply(req -> {
+            throw new AssertionError("Blocked request reached the network: " + req.getUri());
+        }).execute(request("https://example.org/logo.svg", "*/*"));
+
+        assertEquals(204, response.getStatus());
+        assertEquals(1, blocker.getBlockedRequests());
+    }
+
+    public void testSiteOf() {
+        assertEquals("wikipedia.org", ResourceBlocker.siteOf("en.wikipedia.org"));
+        assertEquals("localhost", ResourceBlocker.siteOf("localhost"));
+        assertEquals("127.0.0.1", ResourceBlocker.siteOf("127.0.0.1"));
+    }
+}
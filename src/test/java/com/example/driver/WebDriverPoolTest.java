@@ -0,0 +1,128 @@
+package com.example.driver;
+
+import junit.framework.TestCase;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests lease/return, reset and health checks of the pool with fake drivers.
+ */
+public class WebDriverPoolTest extends TestCase {
+
+    private final List<FakeWebDriver> started = new ArrayList<>();
+
+    private WebDriverPool newPool(int size) {
+        return new WebDriverPool(() -> {
+            FakeWebDriver driver = new FakeWebDriver();
+            started.add(driver);
+            return driver;
+        }, size);
+    }
+
+    public void testReturnedSessionIsResetAndReused() throws Exception {
+        WebDriverPool pool = newPool(2);
+
+        WebDriver first;
+        try (PooledDriver lease = pool.lease(Duration.ofSeconds(1))) {
+            first = lease.getDriver();
+            first.get("https://example.org/page");
+        }
+        try (PooledDriver lease = pool.lease(Duration.ofSeconds(1))) {
+            assertSame(first, lease.getDriver());
+            assertEquals("about:blank", lease.getDriver().getCurrentUrl());
+        }
+
+        assertEquals(1, pool.getCreatedCount());
+        assertEquals(2, ((FakeWebDriver) first).getCookieClears()); // reset on each return
+    }
+
+    public void testChromeSessionIsClearedOverCdp() throws Exception {
+        List<String> commands = new ArrayList<>();
+        WebDriverPool pool = new WebDriverPool(() -> new CdpWebDriver(commands), 1);
+
+        try (PooledDriver lease = pool.lease(Duration.ofSeconds(1))) {
+            lease.getDriver().get("https://example.org:8443/page?q=1");
+        }
+
+        assertEquals(Arrays.asList("Network.clearBrowserCookies", "Storage.clearDataForOrigin https://example.org:8443"), commands);
+        pool.close();
+    }
+
+    public void testWarmUpStartsSessionsAhead() throws Exception {
+        WebDriverPool pool = newPool(3);
+
+        pool.warmUp(5);
+
+        assertEquals(3, pool.getIdleCount());
+        try (PooledDriver lease = pool.lease(Duration.ofSeconds(1))) {
+            assertEquals(3, pool.getCreatedCount());
+        }
+    }
+
+    public void testUnhealthyIdleSessionIsReplaced() throws Exception {
+        WebDriverPool pool = newPool(1);
+        pool.warmUp(1);
+        started.get(0).crash();
+
+        try (PooledDriver lease = pool.lease(Duration.ofSeconds(1))) {
+            assertSame(started.get(1), lease.getDriver());
+        }
+        assertEquals(2, pool.getCreatedCount());
+        assertTrue(started.get(0).isQuit());
+    }
+
+    public void testLeaseTimesOutWhenPoolIsExhausted() throws Exception {
+        WebDriverPool pool = newPool(1);
+        PooledDriver held = pool.lease(Duration.ofSeconds(1));
+
+        try {
+            pool.lease(Duration.ofMillis(50));
+            fail("Expected the second lease to time out");
+        } catch (TimeoutException expected) {
+            // pool of one is already leased
+        }
+        held.close();
+        pool.lease(Duration.ofMillis(50)).close();
+    }
+
+    public void testCloseQuitsIdleAndLaterReturnedSessions() throws Exception {
+        WebDriverPool pool = newPool(2);
+        pool.warmUp(1);
+        PooledDriver leased = pool.lease(Duration.ofSeconds(1));
+        PooledDriver second = pool.lease(Duration.ofSeconds(1));
+
+        pool.close();
+        leased.close();
+        second.close();
+
+        for (FakeWebDriver driver : started) {
+            assertTrue(driver.isQuit());
+        }
+        assertEquals(0, pool.getAliveCount());
+    }
+
+    /**
+     * Fake Chrome session that records the CDP commands sent to it.
+     */
+    private static final class CdpWebDriver extends FakeWebDriver implements HasCdp {
+        private final List<String> commands;
+
+        CdpWebDriver(List<String> commands) {
+            this.commands = commands;
+        }
+
+        @Override
+        public Map<String, Object> executeCdpCommand(String commandName, Map<String, Object> parameters) {
+            commands.add(parameters.containsKey("origin") ? commandName + " " + parameters.get("origin") : commandName);
+            return Collections.emptyMap();
+        }
+    }
+}
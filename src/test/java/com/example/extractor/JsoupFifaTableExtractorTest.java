@@ -0,0 +1,34 @@
+package com.example.extractor;
+
+import com.example.model.FifaFinalResult;
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Offline tests for the browserless extractor against a saved copy of the finals table.
+ */
+public class JsoupFifaTableExtractorTest extends TestCase {
+
+    static String fixturePath() {
+        return new File(JsoupFifaTableExtractorTest.class.getResource("/fifa_finals_fixture.html").getFile()).getAbsolutePath();
+    }
+
+    public void testExtractsCompleteRowsAndSkipsPartialOnes() throws Exception {
+        List<FifaFinalResult> results = new JsoupFifaTableExtractor(fixturePath()).extractResults(10);
+
+        // Header row, the 1950 round-robin (no score link) and the unplayed 2026 final are skipped.
+        assertEquals(4, results.size());
+        assertEquals(new FifaFinalResult(1930, "Uruguay", "4–2", "Argentina"), results.get(0));
+        assertEquals(new FifaFinalResult(1934, "Italy", "2–1", "Czechoslovakia"), results.get(1));
+        assertEquals(new FifaFinalResult(1954, "West Germany", "3–2", "Hungary"), results.get(3));
+    }
+
+    public void testRowLimitCountsTableRowsIncludingHeader() throws Exception {
+        List<FifaFinalResult> results = new JsoupFifaTableExtractor(fixturePath()).extractResults(3);
+
+        assertEquals(2, results.size());
+        assertEquals(Integer.valueOf(1934), results.get(1).getYear());
+    }
+}
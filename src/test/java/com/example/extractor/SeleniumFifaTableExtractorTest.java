@@ -0,0 +1,159 @@
+package com.example.extractor;
+
+import com.example.model.FifaFinalResult;
+import junit.framework.TestCase;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.io.File;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs the Selenium extractor against the saved finals table through a driver backed by jsoup. The plain
+ * driver has no script support, so the fast-fail row probing is exercised; the scripting one answers the
+ * single table script with canned rows.
+ */
+public class SeleniumFifaTableExtractorTest extends TestCase {
+
+    public void testSkipsMissingCellsWithoutWaiting() throws Exception {
+        Document page = Jsoup.parse(new File(JsoupFifaTableExtractorTest.fixturePath()), "UTF-8");
+        WebDriver driver = jsoupDriver(page);
+        // A per-element wait would burn this for every missing cell of the header, 1950 and 2026 rows
+        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+
+        long start = System.nanoTime();
+        List<FifaFinalResult> results = new SeleniumFifaTableExtractor(driver, wait, "file:///fixture.html")
+                .extractResults(FifaResultExtractor.ALL_ROWS);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(4, results.size());
+        assertEquals(new FifaFinalResult(1930, "Uruguay", "4–2", "Argentina"), results.get(0));
+        assertEquals(new FifaFinalResult(1954, "West Germany", "3–2", "Hungary"), results.get(3));
+        assertTrue("took " + elapsedMillis + " ms", elapsedMillis < 5_000);
+    }
+
+    public void testRowLimitCountsTableRowsIncludingHeader() throws Exception {
+        Document page = Jsoup.parse(new File(JsoupFifaTableExtractorTest.fixturePath()), "UTF-8");
+        WebDriver driver = jsoupDriver(page);
+
+        List<FifaFinalResult> results = new SeleniumFifaTableExtractor(driver, new WebDriverWait(driver, Duration.ofSeconds(1)), "file:///fixture.html")
+                .extractResults(3);
+
+        assertEquals(2, results.size());
+        assertEquals(Integer.valueOf(1934), results.get(1).getYear());
+    }
+
+    public void testReadsRowsReturnedByTheTableScript() throws Exception {
+        Document page = Jsoup.parse(new File(JsoupFifaTableExtractorTest.fixturePath()), "UTF-8");
+        List<Object> rows = Arrays.<Object>asList(
+                Arrays.asList("1930", "Uruguay", "4–2", "Argentina"),
+                Arrays.asList("1934", "Italy"),                        // short row
+                Arrays.asList("1938", null, "4–2", "Hungary"),         // null cell
+                "not a row",
+                Arrays.asList(" 1950 ", "Uruguay", "2–1", "Brazil"));
+        WebDriver driver = scriptingDriver(page, rows);
+
+        List<FifaFinalResult> results = new SeleniumFifaTableExtractor(driver, new WebDriverWait(driver, Duration.ofSeconds(1)), "file:///fixture.html")
+                .extractResults(FifaResultExtractor.ALL_ROWS);
+
+        assertEquals(Arrays.asList(
+                new FifaFinalResult(1930, "Uruguay", "4–2", "Argentina"),
+                new FifaFinalResult(1950, "Uruguay", "2–1", "Brazil")), results);
+    }
+
+    public void testFallsBackToProbingWhenTheTableScriptFailsOrReturnsNoRows() throws Exception {
+        Document page = Jsoup.parse(new File(JsoupFifaTableExtractorTest.fixturePath()), "UTF-8");
+        for (Object scriptResult : Arrays.asList(new JavascriptException("SyntaxError"), null, "unexpected")) {
+            WebDriver driver = scriptingDriver(page, scriptResult);
+
+            List<FifaFinalResult> results = new SeleniumFifaTableExtractor(driver, new WebDriverWait(driver, Duration.ofSeconds(1)), "file:///fixture.html")
+                    .extractResults(FifaResultExtractor.ALL_ROWS);
+
+            assertEquals(String.valueOf(scriptResult), 4, results.size());
+            assertEquals(new FifaFinalResult(1930, "Uruguay", "4–2", "Argentina"), results.get(0));
+        }
+    }
+
+    /**
+     * Like {@link #jsoupDriver} for locating the table, but also a {@link JavascriptExecutor} that returns
+     * {@code scriptResult}, or throws it if it is an exception.
+     */
+    private static WebDriver scriptingDriver(Document page, Object scriptResult) {
+        WebDriver elements = jsoupDriver(page);
+        return (WebDriver) Proxy.newProxyInstance(SeleniumFifaTableExtractorTest.class.getClassLoader(),
+                new Class<?>[]{WebDriver.class, JavascriptExecutor.class},
+                (proxy, method, args) -> {
+                    if ("executeScript".equals(method.getName())) {
+                        if (scriptResult instanceof RuntimeException) {
+                            throw (RuntimeException) scriptResult;
+                        }
+                        return scriptResult;
+                    }
+                    return method.invoke(elements, args);
+                });
+    }
+
+    private static WebDriver jsoupDriver(Document page) {
+        return (WebDriver) Proxy.newProxyInstance(SeleniumFifaTableExtractorTest.class.getClassLoader(), new Class<?>[]{WebDriver.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findElements":
+                            return find(page, (By) args[0]);
+                        case "findElement":
+                            return first(find(page, (By) args[0]), (By) args[0]);
+                        case "toString":
+                            return "jsoup driver";
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    private static WebElement element(Element element) {
+        return (WebElement) Proxy.newProxyInstance(SeleniumFifaTableExtractorTest.class.getClassLoader(), new Class<?>[]{WebElement.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findElements":
+                            return find(element, (By) args[0]);
+                        case "findElement":
+                            return first(find(element, (By) args[0]), (By) args[0]);
+                        case "getText":
+                            return element.text();
+                        case "isDisplayed":
+                            return true;
+                        case "toString":
+                            return element.tagName();
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    private static List<WebElement> find(Element context, By by) {
+        String xpath = by.toString().substring("By.xpath: ".length());
+        List<WebElement> found = new ArrayList<>();
+        for (Element match : context.selectXpath(xpath)) {
+            found.add(element(match));
+        }
+        return found;
+    }
+
+    private static WebElement first(List<WebElement> found, By by) {
+        if (found.isEmpty()) {
+            throw new NoSuchElementException("No element for " + by);
+        }
+        return found.get(0);
+    }
+}
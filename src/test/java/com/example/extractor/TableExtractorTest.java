@@ -0,0 +1,54 @@
+package com.example.extractor;
+
+import com.example.model.FifaFinalResult;
+import junit.framework.TestCase;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+import java.util.List;
+
+/**
+ * Tests for header-resolved, schema-driven table mapping.
+ */
+public class TableExtractorTest extends TestCase {
+
+    private static final String PAGE =
+            "<table><tr><th>Key</th></tr><tr><td>x</td></tr></table>" +
+            "<table><tbody>" +
+            "<tr><th>Venue</th><th>Year[a]</th><th>Winners</th><th>Score</th><th>Runners-up</th></tr>" +
+            "<tr><td>Wembley</td><th><a>1966</a></th><td><a>England</a></td><td><a>4–2</a></td><td><span><a>West Germany</a></span></td></tr>" +
+            "<tr><td>Azteca</td><th><a>1970</a></th><td><a>Brazil</a></td><td><a>4–1</a></td><td><span><a>Italy</a></span></td></tr>" +
+            "<tr><td>Olympiastadion</td><th><a>TBD</a></th><td><a>West Germany</a></td><td><a>2–1</a></td><td><span><a>Netherlands</a></span></td></tr>" +
+            "</tbody></table>";
+
+    public void testLocatesTableByHeaderRegardlessOfPositionOrColumnOrder() {
+        Document document = Jsoup.parse(PAGE);
+
+        List<FifaFinalResult> results = new TableExtractor<>(FifaTableSchemas.FINALS).extract(document, 10);
+
+        // The "TBD" year fails conversion and its row is skipped.
+        assertEquals(2, results.size());
+        assertEquals(new FifaFinalResult(1966, "England", "4–2", "West Germany"), results.get(0));
+        assertEquals(new FifaFinalResult(1970, "Brazil", "4–1", "Italy"), results.get(1));
+    }
+
+    public void testMapsIntoAnyRowType() {
+        TableSchema<StringBuilder> venues = TableSchema.builder(StringBuilder::new)
+                .column("Venue", "", text -> text, StringBuilder::append)
+                .build();
+
+        List<StringBuilder> results = new TableExtractor<>(venues).extract(Jsoup.parse(PAGE), 3);
+
+        assertEquals(2, results.size());
+        assertEquals("Wembley", results.get(0).toString());
+        assertEquals("Azteca", results.get(1).toString());
+    }
+
+    public void testReturnsEmptyListWhenNoTableHasTheHeaders() {
+        TableSchema<StringBuilder> missing = TableSchema.builder(StringBuilder::new)
+                .column("Attendance", "", text -> text, StringBuilder::append)
+                .build();
+
+        assertTrue(new TableExtractor<>(missing).extract(Jsoup.parse(PAGE), 10).isEmpty());
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.gsheets;
+
+import com.google.api.client.auth.oauth2.BearerToken;
+import com.google.api.client.auth.oauth2.Credential;
+import com.google.api.client.auth.oauth2.TokenResponse;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests when {@link AccessTokenRefresher} refreshes, and that concurrent callers share one refresh.
+ */
+public class AccessTokenRefresherTest extends TestCase {
+
+    private static final long MARGIN_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    private static final long MIN_VALIDITY_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    public void testConcurrentCallersWithoutATokenShareOneRefresh() throws Exception {
+        CountingCredential credential = new CountingCredential(3600, new CountDownLatch(0));
+        AccessTokenRefresher refresher = new AccessTokenRefresher(credential, MARGIN_MILLIS, MIN_VALIDITY_MILLIS);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> calls = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                calls.add(callers.submit(() -> {
+                    refresher.ensureFresh();
+                    return null;
+                }));
+            }
+            for (Future<?> call : calls) {
+                call.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertEquals(1, credential.refreshes.get());
+        assertNotNull(credential.getAccessToken());
+    }
+
+    public void testTokenNearExpiryIsRefreshedInTheBackgroundOnce() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        // Every token lives 2 minutes: inside the refresh margin, but with plenty of validity left
+        CountingCredential credential = new CountingCredential(120, release);
+        AccessTokenRefresher refresher = new AccessTokenRefresher(credential, MARGIN_MILLIS, MIN_VALIDITY_MILLIS);
+        release.countDown();
+        refresher.ensureFresh();
+        assertEquals(1, credential.refreshes.get());
+
+        CountDownLatch blocked = new CountDownLatch(1);
+        credential.release = blocked;
+        // The background refresh is stuck, yet callers are not held up and start no second one
+        for (int i = 0; i < 20; i++) {
+            refresher.ensureFresh();
+        }
+        blocked.countDown();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (credential.refreshes.get() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, credential.refreshes.get());
+    }
+
+    public void testValidTokenIsNotRefreshed() throws Exception {
+        CountingCredential credential = new CountingCredential(3600, new CountDownLatch(0));
+        AccessTokenRefresher refresher = new AccessTokenRefresher(credential, MARGIN_MILLIS, MIN_VALIDITY_MILLIS);
+        refresher.ensureFresh();
+        refresher.ensureFresh();
+
+        assertEquals(1, credential.refreshes.get());
+    }
+
+    /**
+     * Hands out tokens valid for {@code lifetimeSeconds}; each refresh waits for {@code release}.
+     */
+    private static final class CountingCredential extends Credential {
+        private final long lifetimeSeconds;
+        private final AtomicInteger refreshes = new AtomicInteger();
+        private volatile CountDownLatch release;
+
+        CountingCredential(long lifetimeSeconds, CountDownLatch release) {
+            super(BearerToken.authorizationHeaderAccessMethod());
+            this.lifetimeSeconds = lifetimeSeconds;
+            this.release = release;
+        }
+
+        @Override
+        protected TokenResponse executeRefreshToken() {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+                // Give concurrent callers time to pile up behind this refresh
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            int refresh = refreshes.incrementAndGet();
+            return new TokenResponse().setAccessToken("token-" + refresh).setExpiresInSeconds(lifetimeSeconds);
+        }
+    }
+}
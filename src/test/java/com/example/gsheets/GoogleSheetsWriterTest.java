@@ -0,0 +1,108 @@
+package com.example.gsheets;
+
+import com.example.model.FifaFinalResult;
+import com.example.model.FifaResultBatch;
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests the writer's header handling and metadata caching against a local Sheets API stub.
+ */
+public class GoogleSheetsWriterTest extends TestCase {
+
+    public void testProbesHeaderOnceAndTracksRowCount() throws Exception {
+        try (SheetsApiStub stub = new SheetsApiStub()) {
+            GoogleSheetsWriter writer = new GoogleSheetsWriter(stub.newClient(), getName(), "Sheet1");
+
+            assertTrue(writer.appendResults(Collections.singletonList(new FifaFinalResult(1930, "Uruguay", "4–2", "Argentina"))));
+            assertTrue(writer.appendResults(Arrays.asList(
+                    new FifaFinalResult(1934, "Italy", "2–1", "Czechoslovakia"),
+                    new FifaFinalResult(1938, "Italy", "4–2", "Hungary"))));
+
+            assertEquals(1, stub.countRequests("GET"));
+            assertEquals(2, stub.countRequests("POST"));
+            assertEquals(Arrays.<Object>asList("Year", "Winner", "Score", "Runner-Up"), stub.getRows().get(0));
+            assertEquals(4, stub.getRows().size());
+
+            SheetMetadata metadata = SheetMetadataCache.forSheet(getName(), "Sheet1");
+            assertTrue(metadata.isHeaderPresent());
+            assertEquals(4, metadata.getLastKnownRowCount());
+            assertEquals(Arrays.asList("Year", "Winner", "Score", "Runner-Up"), metadata.getColumns());
+        }
+    }
+
+    public void testDoesNotAddHeaderToSheetWithData() throws Exception {
+        try (SheetsApiStub stub = new SheetsApiStub()) {
+            stub.addRow("Year", "Winner", "Score", "Runner-Up");
+            GoogleSheetsWriter writer = new GoogleSheetsWriter(stub.newClient(), getName(), "Sheet1");
+
+            assertTrue(writer.appendResults(Collections.singletonList(new FifaFinalResult(1950, "Uruguay", "2–1", "Brazil"))));
+
+            assertEquals(2, stub.getRows().size());
+            assertEquals(1950, stub.getRows().get(1).get(0));
+        }
+    }
+
+    public void testAppendsColumnarBatchAsRows() throws Exception {
+        try (SheetsApiStub stub = new SheetsApiStub()) {
+            GoogleSheetsWriter writer = new GoogleSheetsWriter(stub.newClient(), getName(), "Sheet1");
+
+            writer.appendBatchOrThrow(FifaResultBatch.of(Arrays.asList(
+                    new FifaFinalResult(1930, "Uruguay", "4–2", "Argentina"),
+                    new FifaFinalResult(1950, "Uruguay", "2–1", "Brazil"))));
+
+            assertEquals(3, stub.getRows().size());
+            assertEquals(Arrays.<Object>asList(1950, "Uruguay", "2–1", "Brazil"), stub.getRows().get(2));
+        }
+    }
+
+    public void testRepeatedSyncWritesNothing() throws Exception {
+        try (SheetsApiStub stub = new SheetsApiStub()) {
+            GoogleSheetsWriter writer = new GoogleSheetsWriter(stub.newClient(), getName(), "Sheet1");
+            List<FifaFinalResult> results = Arrays.asList(
+                    new FifaFinalResult(1930, "Uruguay", "4–2", "Argentina"),
+                    new FifaFinalResult(1934, "Italy", "2–1", "Czechoslovakia"));
+
+            GoogleSheetsWriter.SyncSummary first = writer.syncResultsOrThrow(results);
+            GoogleSheetsWriter.SyncSummary second = writer.syncResultsOrThrow(results);
+
+            assertEquals(2, first.getAppended());
+            assertEquals(0, second.getAppended());
+            assertEquals(2, second.getUnchanged());
+            assertEquals(1, stub.countRequests("GET"));
+            assertEquals(1, stub.countRequests("POST"));
+            assertEquals(3, stub.getRows().size());
+        }
+    }
+
+    public void testSyncAppendsNewYearsAndUpdatesChangedRowsInOneBatch() throws Exception {
+        try (SheetsApiStub stub = new SheetsApiStub()) {
+            stub.addRow("Year", "Winner", "Score", "Runner-Up");
+            stub.addRow(1930, "Uruguay", "4–1", "Argentina");
+            stub.addRow(1934, "Italy", "2–1", "Czechoslovakia");
+            GoogleSheetsWriter writer = new GoogleSheetsWriter(stub.newClient(), getName(), "Sheet1");
+
+            GoogleSheetsWriter.SyncSummary summary = writer.syncResultsOrThrow(Arrays.asList(
+                    new FifaFinalResult(1930, "Uruguay", "4–2", "Argentina"),
+                    new FifaFinalResult(1934, "Italy", "2–1", "Czechoslovakia"),
+                    new FifaFinalResult(1938, "Italy", "4–2", "Hungary")));
+
+            assertEquals(1, summary.getAppended());
+            assertEquals(1, summary.getUpdated());
+            assertEquals(1, summary.getUnchanged());
+            assertEquals(1, stub.countRequests("POST /v4/spreadsheets/" + getName() + "/values/Sheet1!A:D:append"));
+            assertEquals(1, stub.countRequests("POST /v4/spreadsheets/" + getName() + "/values:batchUpdate"));
+            assertEquals(Arrays.<Object>asList(1930, "Uruguay", "4–2", "Argentina"), stub.getRows().get(1));
+            assertEquals(Arrays.<Object>asList(1938, "Italy", "4–2", "Hungary"), stub.getRows().get(3));
+
+            // The index knows where the appended row went, so correcting it needs no further read
+            writer.syncResultsOrThrow(Collections.singletonList(new FifaFinalResult(1938, "Italy", "4–2", "Hungary (a.e.t.)")));
+            assertEquals(1, stub.countRequests("GET"));
+            assertEquals(4, stub.getRows().size());
+            assertEquals("Hungary (a.e.t.)", stub.getRows().get(3).get(3));
+        }
+    }
+}
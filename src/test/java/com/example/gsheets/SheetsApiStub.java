@@ -0,0 +1,189 @@
+package com.example.gsheets;
+
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.services.sheets.v4.Sheets;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Minimal local stand-in for the Sheets v4 values API: one in-memory sheet, request log and
+ * scripted failures. Only the calls made by {@link GoogleSheetsWriter} are implemented.
+ */
+class SheetsApiStub implements AutoCloseable {
+
+    private final HttpServer server;
+    private final List<List<Object>> rows = new ArrayList<>();
+    private final List<String> requests = Collections.synchronizedList(new ArrayList<String>());
+    private final Deque<Integer> scriptedAppendStatuses = new ArrayDeque<>();
+    private final Deque<Integer> lostAppendResponses = new ArrayDeque<>();
+    private final Gson gson = new Gson();
+
+    SheetsApiStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    Sheets newClient() {
+        return new Sheets.Builder(new NetHttpTransport(), GsonFactory.getDefaultInstance(), null)
+                .setRootUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/")
+                .setApplicationName("sheets-stub-test")
+                .build();
+    }
+
+    /** Makes the next append calls fail with the given HTTP statuses, in order. */
+    synchronized void failNextAppends(Integer... statuses) {
+        Collections.addAll(scriptedAppendStatuses, statuses);
+    }
+
+    /** Makes the next append calls write their rows and then fail with the given HTTP statuses, like a lost response. */
+    synchronized void failNextAppendsAfterWriting(Integer... statuses) {
+        Collections.addAll(lostAppendResponses, statuses);
+    }
+
+    synchronized void addRow(Object... values) {
+        List<Object> row = new ArrayList<>();
+        Collections.addAll(row, values);
+        rows.add(row);
+    }
+
+    synchronized List<List<Object>> getRows() {
+        return new ArrayList<>(rows);
+    }
+
+    /** @return "METHOD path" of every request received, in order */
+    List<String> getRequests() {
+        synchronized (requests) {
+            return new ArrayList<>(requests);
+        }
+    }
+
+    int countRequests(String prefix) {
+        int count = 0;
+        for (String request : getRequests()) {
+            if (request.startsWith(prefix)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        requests.add(method + " " + path);
+
+        if ("POST".equals(method) && path.endsWith(":append")) {
+            handleAppend(exchange);
+        } else if ("POST".equals(method) && path.endsWith("values:batchUpdate")) {
+            handleBatchUpdate(exchange);
+        } else if ("GET".equals(method) && path.contains("/values/")) {
+            handleGet(exchange, path.substring(path.indexOf("/values/") + "/values/".length()));
+        } else {
+            respond(exchange, 404, "{\"error\":{\"code\":404,\"message\":\"not stubbed\"}}");
+        }
+    }
+
+    private synchronized void handleGet(HttpExchange exchange, String range) throws IOException {
+        JsonObject response = new JsonObject();
+        response.addProperty("range", range);
+        response.addProperty("majorDimension", "ROWS");
+        List<List<Object>> values = range.endsWith("!A1") && !rows.isEmpty() ? rows.subList(0, 1) : rows;
+        if (!values.isEmpty()) {
+            response.add("values", gson.toJsonTree(values));
+        }
+        respond(exchange, 200, response.toString());
+    }
+
+    private synchronized void handleAppend(HttpExchange exchange) throws IOException {
+        Integer scripted = scriptedAppendStatuses.poll();
+        if (scripted != null) {
+            respond(exchange, scripted, "{\"error\":{\"code\":" + scripted + ",\"message\":\"scripted failure\"}}");
+            return;
+        }
+        JsonObject body = readJsonBody(exchange);
+        JsonArray values = body.getAsJsonArray("values");
+        int firstRow = rows.size() + 1;
+        for (JsonElement row : values) {
+            rows.add(toCells(row.getAsJsonArray()));
+        }
+        Integer lost = lostAppendResponses.poll();
+        if (lost != null) {
+            respond(exchange, lost, "{\"error\":{\"code\":" + lost + ",\"message\":\"scripted failure after writing\"}}");
+            return;
+        }
+
+        JsonObject updates = new JsonObject();
+        updates.addProperty("updatedRange", "Sheet1!A" + firstRow + ":D" + rows.size());
+        updates.addProperty("updatedRows", values.size());
+        JsonObject response = new JsonObject();
+        response.add("updates", updates);
+        respond(exchange, 200, response.toString());
+    }
+
+    private synchronized void handleBatchUpdate(HttpExchange exchange) throws IOException {
+        JsonObject body = readJsonBody(exchange);
+        int updatedRows = 0;
+        for (JsonElement element : body.getAsJsonArray("data")) {
+            JsonObject range = element.getAsJsonObject();
+            // Only single-row ranges such as Sheet1!A3:D3 are written
+            String a1 = range.get("range").getAsString();
+            int row = Integer.parseInt(a1.substring(a1.indexOf("!A") + 2, a1.indexOf(':')));
+            rows.set(row - 1, toCells(range.getAsJsonArray("values").get(0).getAsJsonArray()));
+            updatedRows++;
+        }
+        JsonObject response = new JsonObject();
+        response.addProperty("totalUpdatedRows", updatedRows);
+        respond(exchange, 200, response.toString());
+    }
+
+    private static List<Object> toCells(JsonArray row) {
+        List<Object> cells = new ArrayList<>();
+        for (JsonElement cell : row) {
+            cells.add(cell.isJsonPrimitive() && cell.getAsJsonPrimitive().isNumber() ? (Object) cell.getAsInt() : cell.getAsString());
+        }
+        return cells;
+    }
+
+    static JsonObject readJsonBody(HttpExchange exchange) throws IOException {
+        // The Google HTTP client gzips request bodies by default.
+        InputStream in = exchange.getRequestBody();
+        if ("gzip".equalsIgnoreCase(exchange.getRequestHeaders().getFirst("Content-Encoding"))) {
+            in = new GZIPInputStream(in);
+        }
+        return JsonParser.parseReader(new InputStreamReader(in, StandardCharsets.UTF_8)).getAsJsonObject();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.example.gsheets;
+
+import com.example.model.FifaFinalResult;
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.services.sheets.v4.Sheets;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tests pacing and coalescing of appends against a local Sheets API stub.
+ */
+public class SheetsWriteSchedulerTest extends TestCase {
+
+    public void testCoalescesAppendsQueuedBehindTheBucket() throws Exception {
+        SheetsWriteScheduler scheduler = new SheetsWriteScheduler(1, 2.0);
+        ExecutorService callers = Executors.newFixedThreadPool(5);
+        try (SheetsApiStub stub = new SheetsApiStub()) {
+            warmUp(stub);
+            GoogleSheetsWriter writer = new GoogleSheetsWriter(stub.newClient(), getName(), "Sheet1", scheduler);
+            // Uses the only permit, so the next appends wait about half a second
+            writer.appendResultsOrThrow(Collections.singletonList(new FifaFinalResult(1930, "Uruguay", "4–2", "Argentina")));
+
+            List<Future<?>> appends = new ArrayList<>();
+            for (int i = 1; i <= 5; i++) {
+                final FifaFinalResult result = new FifaFinalResult(1930 + 4 * i, "Italy", "2–1", "Hungary");
+                appends.add(callers.submit(() -> {
+                    writer.appendResultsOrThrow(Collections.singletonList(result));
+                    return null;
+                }));
+            }
+            for (Future<?> append : appends) {
+                append.get();
+            }
+
+            assertEquals(2, stub.countRequests("POST"));
+            assertEquals(2, scheduler.getRequestsSent());
+            assertEquals(7, stub.getRows().size());
+            assertEquals(0, scheduler.getQueueDepth());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    public void testResendsCoalescedAppendsAloneWhenTheRequestIsRejected() throws Exception {
+        SheetsWriteScheduler scheduler = new SheetsWriteScheduler(1, 2.0);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try (SheetsApiStub stub = new SheetsApiStub()) {
+            GoogleSheetsWriter writer = new GoogleSheetsWriter(stub.newClient(), getName(), "Sheet1", scheduler);
+            writer.appendResultsOrThrow(Collections.singletonList(new FifaFinalResult(1930, "Uruguay", "4–2", "Argentina")));
+            // The coalesced request and then the first append on its own are rejected
+            stub.failNextAppends(400, 400);
+
+            List<Future<?>> appends = new ArrayList<>();
+            for (int i = 1; i <= 2; i++) {
+                final FifaFinalResult result = new FifaFinalResult(1930 + 4 * i, "Italy", "2–1", "Hungary");
+                appends.add(callers.submit(() -> {
+                    writer.appendResultsOrThrow(Collections.singletonList(result));
+                    return null;
+                }));
+            }
+            int failed = 0;
+            for (Future<?> append : appends) {
+                try {
+                    append.get();
+                } catch (ExecutionException e) {
+                    assertEquals(400, ((HttpResponseException) e.getCause()).getStatusCode());
+                    failed++;
+                }
+            }
+
+            assertEquals(1, failed);
+            assertEquals(4, scheduler.getRequestsSent());
+            assertEquals(3, stub.getRows().size());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    public void testCoalescesOnlyAppendsOfTheSameWriter() throws Exception {
+        SheetsWriteScheduler scheduler = new SheetsWriteScheduler(1, 2.0);
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try (SheetsApiStub first = new SheetsApiStub(); SheetsApiStub second = new SheetsApiStub()) {
+            warmUp(first);
+            warmUp(second);
+            // Same spreadsheet and sheet, so one queue, but each writer has its own client
+            GoogleSheetsWriter firstWriter = new GoogleSheetsWriter(first.newClient(), getName(), "Sheet1", scheduler);
+            GoogleSheetsWriter secondWriter = new GoogleSheetsWriter(second.newClient(), getName(), "Sheet1", scheduler);
+            firstWriter.appendResultsOrThrow(Collections.singletonList(new FifaFinalResult(1930, "Uruguay", "4–2", "Argentina")));
+
+            List<Future<?>> appends = new ArrayList<>();
+            for (int i = 1; i <= 4; i++) {
+                final GoogleSheetsWriter writer = i % 2 == 0 ? secondWriter : firstWriter;
+                final FifaFinalResult result = new FifaFinalResult(1930 + 4 * i, "Italy", "2–1", "Hungary");
+                appends.add(callers.submit(() -> {
+                    writer.appendResultsOrThrow(Collections.singletonList(result));
+                    return null;
+                }));
+            }
+            for (Future<?> append : appends) {
+                append.get();
+            }
+
+            assertEquals(2, first.countRequests("POST"));
+            assertEquals(1, second.countRequests("POST"));
+            // The first stub also holds the header and the priming row
+            assertEquals(4, first.getRows().size());
+            assertEquals(2, second.getRows().size());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    public void testInterruptedCallerGetsTheOutcomeOfAnAppendAlreadySent() throws Exception {
+        SheetsWriteScheduler scheduler = new SheetsWriteScheduler(10, 10.0);
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (SheetsApiStub stub = new SheetsApiStub()) {
+            Sheets stalling = new Sheets.Builder(new NetHttpTransport(), GsonFactory.getDefaultInstance(), request -> {
+                if (sending.getCount() > 0) {
+                    sending.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }).setRootUrl(stub.newClient().getRootUrl()).setApplicationName("stalling").build();
+            GoogleSheetsWriter writer = new GoogleSheetsWriter(stalling, getName(), "Sheet1", scheduler);
+
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            AtomicBoolean interruptedAfterwards = new AtomicBoolean();
+            Thread caller = new Thread(() -> {
+                try {
+                    writer.appendResultsOrThrow(Collections.singletonList(new FifaFinalResult(1930, "Uruguay", "4–2", "Argentina")));
+                } catch (Throwable t) {
+                    failure.set(t);
+                }
+                interruptedAfterwards.set(Thread.currentThread().isInterrupted());
+            });
+            caller.start();
+            assertTrue(sending.await(5, TimeUnit.SECONDS));
+            caller.interrupt();
+            release.countDown();
+            caller.join(5000);
+
+            assertFalse(caller.isAlive());
+            assertNull(failure.get());
+            assertTrue(interruptedAfterwards.get());
+            // Header and the row
+            assertEquals(2, stub.getRows().size());
+        }
+    }
+
+    public void testWriterSurvivesAnError() throws Exception {
+        SheetsWriteScheduler scheduler = new SheetsWriteScheduler(10, 10.0);
+        Sheets broken = new Sheets.Builder(new MockHttpTransport() {
+            @Override
+            public LowLevelHttpRequest buildRequest(String method, String url) {
+                throw new Error("simulated");
+            }
+        }, GsonFactory.getDefaultInstance(), null).setApplicationName("broken").build();
+        try (SheetsApiStub stub = new SheetsApiStub()) {
+            try {
+                new GoogleSheetsWriter(broken, getName(), "Sheet1", scheduler)
+                        .appendResultsOrThrow(Collections.singletonList(new FifaFinalResult(1930, "Uruguay", "4–2", "Argentina")));
+                fail("Expected the simulated error");
+            } catch (Error e) {
+                assertEquals("simulated", e.getMessage());
+            }
+
+            // Same sheet, so the same writer thread must still be running
+            new GoogleSheetsWriter(stub.newClient(), getName(), "Sheet1", scheduler)
+                    .appendResultsOrThrow(Collections.singletonList(new FifaFinalResult(1934, "Italy", "2–1", "Czechoslovakia")));
+            assertEquals(2, stub.getRows().size());
+        }
+    }
+
+    public void testPacesSequentialAppends() throws Exception {
+        SheetsWriteScheduler scheduler = new SheetsWriteScheduler(1, 20.0);
+        try (SheetsApiStub stub = new SheetsApiStub()) {
+            GoogleSheetsWriter writer = new GoogleSheetsWriter(stub.newClient(), getName(), "Sheet1", scheduler);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < 5; i++) {
+                writer.appendResultsOrThrow(Collections.singletonList(new FifaFinalResult(1930 + 4 * i, "Uruguay", "4–2", "Argentina")));
+            }
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            // Four of the five requests had to wait 50ms for a permit
+            assertTrue("elapsed " + elapsedMillis + "ms", elapsedMillis >= 180);
+            assertEquals(5, stub.countRequests("POST"));
+        }
+    }
+
+    public void testSheetsOfOneSpreadsheetShareItsBudget() throws Exception {
+        SheetsWriteScheduler scheduler = new SheetsWriteScheduler(1, 20.0);
+        try (SheetsApiStub stub = new SheetsApiStub()) {
+            GoogleSheetsWriter first = new GoogleSheetsWriter(stub.newClient(), getName(), "Sheet1", scheduler);
+            GoogleSheetsWriter second = new GoogleSheetsWriter(stub.newClient(), getName(), "Sheet2", scheduler);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < 2; i++) {
+                first.appendResultsOrThrow(Collections.singletonList(new FifaFinalResult(1930 + 8 * i, "Uruguay", "4–2", "Argentina")));
+                second.appendResultsOrThrow(Collections.singletonList(new FifaFinalResult(1934 + 8 * i, "Italy", "2–1", "Hungary")));
+            }
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            // One bucket for both tabs: three of the four requests waited 50ms for a permit
+            assertTrue("elapsed " + elapsedMillis + "ms", elapsedMillis >= 140);
+            assertEquals(4, scheduler.getRequestsSent());
+        }
+    }
+
+    public void testFailureReachesTheCaller() throws Exception {
+        SheetsWriteScheduler scheduler = new SheetsWriteScheduler(10, 1.0);
+        try (SheetsApiStub stub = new SheetsApiStub()) {
+            stub.failNextAppends(400);
+            GoogleSheetsWriter writer = new GoogleSheetsWriter(stub.newClient(), getName(), "Sheet1", scheduler);
+
+            try {
+                writer.appendResultsOrThrow(Collections.singletonList(new FifaFinalResult(1930, "Uruguay", "4–2", "Argentina")));
+                fail("Expected the stub's 400 to propagate");
+            } catch (HttpResponseException e) {
+                assertEquals(400, e.getStatusCode());
+            }
+            assertEquals(0, scheduler.getQueueDepth());
+        }
+    }
+
+    /**
+     * Sends a read first, so a slow first request cannot give the bucket time to refill before the appends queue up.
+     */
+    private void warmUp(SheetsApiStub stub) throws Exception {
+        stub.newClient().spreadsheets().values().get(getName(), "Sheet1!A1").execute();
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.gsheets;
+
+import com.example.model.FifaFinalResult;
+import com.example.model.FifaResultBatch;
+import junit.framework.TestCase;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests the chunked, retrying sink against a local stub of the Sheets values API.
+ */
+public class StreamingSheetsSinkTest extends TestCase {
+
+    private static final RetryPolicy FAST_RETRIES = new RetryPolicy(3, Duration.ofMillis(5), Duration.ofMillis(20));
+
+    public void testFlushesByRowCountAndRetriesServerErrors() throws Exception {
+        try (SheetsApiStub stub = new SheetsApiStub()) {
+            stub.failNextAppends(503, 429);
+            GoogleSheetsWriter writer = new GoogleSheetsWriter(stub.newClient(), getName(), "Sheet1");
+            StreamingSheetsSink sink = new StreamingSheetsSink(writer, 2, Duration.ofMinutes(1), 1, FAST_RETRIES);
+
+            for (int year = 1930; year < 1935; year++) {
+                sink.add(new FifaFinalResult(year, "Winner " + year, "1–0", "Runner-up " + year));
+            }
+            sink.close();
+
+            assertEquals(5, sink.getRowsWritten());
+            assertTrue(sink.getFailedRows().isEmpty());
+            // Chunks of 2 + 2 + 1, the first one needing two retries.
+            assertEquals(5, stub.countRequests("POST"));
+            assertEquals(6, stub.getRows().size()); // header + 5 results
+            assertEquals(1934, stub.getRows().get(5).get(0));
+        }
+    }
+
+    public void testFlushesPartialChunkAfterInterval() throws Exception {
+        try (SheetsApiStub stub = new SheetsApiStub()) {
+            GoogleSheetsWriter writer = new GoogleSheetsWriter(stub.newClient(), getName(), "Sheet1");
+            StreamingSheetsSink sink = new StreamingSheetsSink(writer, 100, Duration.ofMillis(50), 10, FAST_RETRIES);
+
+            sink.add(new FifaFinalResult(1966, "England", "4–2", "West Germany"));
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (sink.getRowsWritten() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertEquals(1, sink.getRowsWritten());
+            sink.close();
+        }
+    }
+
+    public void testReportsEachChunkOnceItIsWritten() throws Exception {
+        try (SheetsApiStub stub = new SheetsApiStub()) {
+            GoogleSheetsWriter writer = new GoogleSheetsWriter(stub.newClient(), getName(), "Sheet1");
+            StreamingSheetsSink sink = new StreamingSheetsSink(writer, 2, Duration.ofMinutes(1), 10, FAST_RETRIES);
+            List<List<FifaFinalResult>> reported = Collections.synchronizedList(new ArrayList<List<FifaFinalResult>>());
+            sink.setWriteListener(chunk -> reported.add(new ArrayList<>(chunk)));
+
+            sink.add(new FifaFinalResult(1930, "Uruguay", "4–2", "Argentina"));
+            sink.add(new FifaFinalResult(1934, "Italy", "2–1", "Czechoslovakia"));
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (reported.isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            // The full chunk is reported while the sink is still open
+            assertEquals(1, reported.size());
+            assertEquals(Integer.valueOf(1934), reported.get(0).get(1).getYear());
+
+            sink.add(new FifaFinalResult(1938, "Italy", "4–2", "Hungary"));
+            sink.close();
+            assertEquals(2, reported.size());
+        }
+    }
+
+    public void testWritesBatchesInChunksAfterEarlierRows() throws Exception {
+        try (SheetsApiStub stub = new SheetsApiStub()) {
+            GoogleSheetsWriter writer = new GoogleSheetsWriter(stub.newClient(), getName(), "Sheet1");
+            StreamingSheetsSink sink = new StreamingSheetsSink(writer, 2, Duration.ofMinutes(1), 1, FAST_RETRIES);
+
+            sink.add(new FifaFinalResult(1930, "Uruguay", "4–2", "Argentina"));
+            FifaResultBatch batch = new FifaResultBatch();
+            batch.add(1934, "Italy", "2–1", "Czechoslovakia");
+            batch.add(1938, "Italy", "4–2", "Hungary");
+            batch.add(1950, "Uruguay", "2–1", "Brazil");
+            sink.write(batch);
+            sink.close();
+
+            assertEquals(4, sink.getRowsWritten());
+            assertEquals(2, stub.countRequests("POST"));
+            assertEquals(5, stub.getRows().size());
+            assertEquals(Arrays.<Object>asList(1930, "Uruguay", "4–2", "Argentina"), stub.getRows().get(1));
+            assertEquals(Arrays.<Object>asList(1950, "Uruguay", "2–1", "Brazil"), stub.getRows().get(4));
+        }
+    }
+
+    public void testRetriesAnAppendThatMayHaveLandedWithoutDuplicatingIt() throws Exception {
+        try (SheetsApiStub stub = new SheetsApiStub()) {
+            stub.failNextAppendsAfterWriting(503);
+            GoogleSheetsWriter writer = new GoogleSheetsWriter(stub.newClient(), getName(), "Sheet1");
+            StreamingSheetsSink sink = new StreamingSheetsSink(writer, 2, Duration.ofMinutes(1), 10, FAST_RETRIES);
+
+            sink.add(new FifaFinalResult(1930, "Uruguay", "4–2", "Argentina"));
+            sink.add(new FifaFinalResult(1934, "Italy", "2–1", "Czechoslovakia"));
+            sink.add(new FifaFinalResult(1938, "Italy", "4–2", "Hungary"));
+            sink.close();
+
+            assertEquals(3, sink.getRowsWritten());
+            assertTrue(sink.getFailedRows().isEmpty());
+            assertEquals(4, stub.getRows().size()); // header + 3 results, none twice
+        }
+    }
+
+    public void testRetriedSyncDoesNotAppendRowsThatLandedDespiteAnError() throws Exception {
+        try (SheetsApiStub stub = new SheetsApiStub()) {
+            stub.addRow("Year", "Winner", "Score", "Runner-up");
+            stub.addRow(1930, "Uruguay", "4–2", "Argentina");
+            GoogleSheetsWriter writer = new GoogleSheetsWriter(stub.newClient(), getName(), "Sheet1");
+            // Builds the cached index the failing sync would otherwise trust
+            writer.syncResultsOrThrow(Collections.singletonList(new FifaFinalResult(1930, "Uruguay", "4–2", "Argentina")));
+            stub.failNextAppendsAfterWriting(503);
+            StreamingSheetsSink sink = new StreamingSheetsSink(writer, 2, Duration.ofMinutes(1), 10, FAST_RETRIES, true);
+
+            sink.add(new FifaFinalResult(1934, "Italy", "2–1", "Czechoslovakia"));
+            sink.add(new FifaFinalResult(1938, "Italy", "4–2", "Hungary"));
+            sink.close();
+
+            assertTrue(sink.getFailedRows().isEmpty());
+            assertEquals(1, stub.countRequests("POST /v4/spreadsheets/" + getName() + "/values/Sheet1!A:D:append"));
+            assertEquals(4, stub.getRows().size()); // header + 3 results, none twice
+        }
+    }
+
+    public void testGivesUpOnNonRetryableErrors() throws Exception {
+        try (SheetsApiStub stub = new SheetsApiStub()) {
+            stub.failNextAppends(403);
+            GoogleSheetsWriter writer = new GoogleSheetsWriter(stub.newClient(), getName(), "Sheet1");
+            StreamingSheetsSink sink = new StreamingSheetsSink(writer, 10, Duration.ofMinutes(1), 10, FAST_RETRIES);
+
+            sink.add(new FifaFinalResult(1970, "Brazil", "4–1", "Italy"));
+            sink.close();
+
+            assertEquals(0, sink.getRowsWritten());
+            assertEquals(1, sink.getFailedRows().size());
+            assertEquals(1, stub.countRequests("POST"));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.jobs;
+
+import com.example.extractor.FifaTableSchemas;
+import com.sun.net.httpserver.HttpServer;
+import junit.framework.TestCase;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs scrape jobs against a local server that answers slowly, to check that they overlap.
+ */
+public class ScrapeJobRunnerTest extends TestCase {
+
+    private static final long RESPONSE_DELAY_MILLIS = 300;
+
+    private HttpServer server;
+
+    @Override
+    protected void setUp() throws Exception {
+        byte[] page = Files.readAllBytes(Paths.get(getClass().getResource("/fifa_finals_fixture.html").toURI()));
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/wiki/", exchange -> {
+            try {
+                Thread.sleep(RESPONSE_DELAY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            boolean missing = exchange.getRequestURI().getPath().endsWith("missing");
+            exchange.getResponseHeaders().set("Content-Type", "text/html; charset=UTF-8");
+            exchange.sendResponseHeaders(missing ? 404 : 200, missing ? -1 : page.length);
+            if (!missing) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(page);
+                }
+            }
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @Override
+    protected void tearDown() {
+        server.stop(0);
+    }
+
+    private ScrapeJob job(String page) {
+        return new ScrapeJob(page, "http://127.0.0.1:" + server.getAddress().getPort() + "/wiki/" + page, FifaTableSchemas.FINALS, 10);
+    }
+
+    public void testRunsJobsConcurrentlyAndKeepsTheirOrder() throws Exception {
+        List<ScrapeJob> jobs = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            jobs.add(job("page" + i));
+        }
+        ScrapeJobRunner runner = new ScrapeJobRunner(4, new HostRateLimiter(10, 100), null);
+
+        long start = System.currentTimeMillis();
+        List<JobResult> results = runner.runAll(jobs);
+        long elapsed = System.currentTimeMillis() - start;
+
+        assertEquals(4, results.size());
+        for (int i = 0; i < 4; i++) {
+            assertSame(jobs.get(i), results.get(i).getJob());
+            assertTrue(results.get(i).isSuccessful());
+            assertEquals(4, results.get(i).getResults().size());
+        }
+        // Sequential fetching would take at least 4 x 300 ms.
+        assertTrue("took " + elapsed + " ms", elapsed < 4 * RESPONSE_DELAY_MILLIS);
+    }
+
+    public void testFailedJobDoesNotAffectOthers() throws Exception {
+        List<ScrapeJob> jobs = new ArrayList<>();
+        jobs.add(job("missing"));
+        jobs.add(job("page"));
+
+        List<JobResult> results = new ScrapeJobRunner(2, new HostRateLimiter(10, 100), null).runAll(jobs);
+
+        assertFalse(results.get(0).isSuccessful());
+        assertTrue(results.get(1).isSuccessful());
+        assertEquals(4, results.get(1).getResults().size());
+    }
+
+    public void testTokenBucketLimitsRateAfterBurst() throws Exception {
+        TokenBucket bucket = new TokenBucket(2, 10);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 4; i++) {
+            bucket.acquire();
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Two permits come from the burst, the other two need ~100 ms each.
+        assertTrue("took " + elapsedMillis + " ms", elapsedMillis >= 150);
+        assertFalse(bucket.tryAcquire());
+    }
+}
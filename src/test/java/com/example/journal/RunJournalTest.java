@@ -0,0 +1,90 @@
+package com.example.journal;
+
+import com.example.model.FifaFinalResult;
+import junit.framework.TestCase;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class RunJournalTest extends TestCase {
+
+    private static final List<FifaFinalResult> EXTRACTED = Arrays.asList(
+            new FifaFinalResult(1930, "Uruguay", "4–2", "Argentina"),
+            new FifaFinalResult(1934, "Italy", "2–1", "Czechoslovakia"),
+            new FifaFinalResult(1938, "Italy", "4–2", "Hungary"),
+            new FifaFinalResult(1950, "Uruguay", null, "Brazil"));
+
+    private Path file;
+
+    @Override
+    protected void setUp() throws Exception {
+        file = Files.createTempDirectory("run-journal-test").resolve("journal/run.jsonl");
+    }
+
+    public void testReopenedJournalResumesAfterLastDecisionAndReplaysUnsentRows() throws Exception {
+        try (RunJournal journal = RunJournal.open(file)) {
+            assertFalse(journal.hasExtraction());
+            journal.recordExtracted(EXTRACTED);
+            journal.recordDecision(0, "append");
+            journal.recordDecision(1, "skip");
+            journal.recordDecision(2, "append");
+            journal.recordSent(Collections.singletonList(0));
+            // Crash: never completed
+        }
+
+        try (RunJournal resumed = RunJournal.open(file)) {
+            assertTrue(resumed.hasExtraction());
+            assertEquals(EXTRACTED, resumed.getExtracted());
+            assertEquals(3, resumed.getNextRowToReview());
+            assertEquals(Collections.singletonList(2), resumed.getUnsentConfirmedRows());
+        }
+    }
+
+    public void testBatchDecisionsAndCompletion() throws Exception {
+        RunJournal journal = RunJournal.open(file);
+        journal.recordExtracted(EXTRACTED);
+        Map<Integer, String> choices = new LinkedHashMap<>();
+        choices.put(0, "skip");
+        choices.put(1, "append");
+        choices.put(2, "append");
+        choices.put(3, "skip");
+        journal.recordDecisions(choices);
+        assertEquals(4, journal.getNextRowToReview());
+        assertEquals(Arrays.asList(1, 2), journal.getUnsentConfirmedRows());
+
+        journal.recordSent(Arrays.asList(1, 2));
+        journal.complete();
+
+        assertFalse(Files.exists(file));
+        assertFalse(RunJournal.open(file).hasExtraction());
+    }
+
+    public void testTornLastRecordIsIgnoredAndNotExtended() throws Exception {
+        try (RunJournal journal = RunJournal.open(file)) {
+            journal.recordExtracted(EXTRACTED.subList(0, 2));
+            journal.recordDecision(0, "append");
+        }
+        Files.write(file, "{\"type\":\"decision\",\"row\":1,\"cho".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        try (RunJournal resumed = RunJournal.open(file)) {
+            assertEquals(1, resumed.getNextRowToReview());
+            resumed.recordDecision(1, "append");
+        }
+        try (RunJournal resumed = RunJournal.open(file)) {
+            assertEquals(2, resumed.getNextRowToReview());
+            assertEquals(Arrays.asList(0, 1), resumed.getUnsentConfirmedRows());
+        }
+    }
+
+    public void testDefaultFileDependsOnTheRunKey() {
+        assertEquals(RunJournal.defaultFile("https://example.org/a"), RunJournal.defaultFile("https://example.org/a"));
+        assertFalse(RunJournal.defaultFile("https://example.org/a").equals(RunJournal.defaultFile("https://example.org/b")));
+    }
+}
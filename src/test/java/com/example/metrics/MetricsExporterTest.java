@@ -0,0 +1,60 @@
+package com.example.metrics;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import junit.framework.TestCase;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+public class MetricsExporterTest extends TestCase {
+
+    private MetricsRegistry registry;
+
+    @Override
+    protected void setUp() {
+        registry = new MetricsRegistry();
+        Timer pageLoad = registry.timer(MetricsRegistry.PAGE_LOAD);
+        pageLoad.record(TimeUnit.MILLISECONDS.toNanos(250));
+        pageLoad.record(TimeUnit.MILLISECONDS.toNanos(750));
+        registry.add(MetricsRegistry.ROWS_APPENDED, 3);
+        registry.increment(MetricsRegistry.SHEETS_API_RETRIES);
+    }
+
+    public void testTimerKeepsCountTotalAndMax() {
+        Timer pageLoad = registry.timer(MetricsRegistry.PAGE_LOAD);
+        assertEquals(2, pageLoad.getCount());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1000), pageLoad.getTotalNanos());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(750), pageLoad.getMaxNanos());
+        assertEquals(0, registry.getCount(MetricsRegistry.ROWS_SKIPPED));
+    }
+
+    public void testPrometheusText() {
+        String text = MetricsExporter.toPrometheusText(registry);
+        assertTrue(text, text.contains("# TYPE tennr_page_load_seconds summary\n"));
+        assertTrue(text, text.contains("tennr_page_load_seconds_count 2\n"));
+        assertTrue(text, text.contains("tennr_page_load_seconds_sum 1.000000\n"));
+        assertTrue(text, text.contains("tennr_page_load_seconds_max 0.750000\n"));
+        assertTrue(text, text.contains("# TYPE tennr_rows_appended_total counter\ntennr_rows_appended_total 3\n"));
+        assertTrue(text, text.contains("tennr_sheets_api_retries_total 1\n"));
+    }
+
+    public void testWritesJsonForJsonFiles() throws Exception {
+        Path file = Files.createTempDirectory("metrics-test").resolve("run/metrics.json");
+        MetricsExporter.write(registry, file);
+
+        JsonObject root = JsonParser.parseString(new String(Files.readAllBytes(file), StandardCharsets.UTF_8)).getAsJsonObject();
+        JsonObject pageLoad = root.getAsJsonObject("timers").getAsJsonObject(MetricsRegistry.PAGE_LOAD);
+        assertEquals(2, pageLoad.get("count").getAsLong());
+        assertEquals(1000.0, pageLoad.get("totalMillis").getAsDouble(), 0.001);
+        assertEquals(3, root.getAsJsonObject("counters").get(MetricsRegistry.ROWS_APPENDED).getAsLong());
+    }
+
+    public void testWritesPrometheusTextOtherwise() throws Exception {
+        Path file = Files.createTempDirectory("metrics-test").resolve("last-run.prom");
+        MetricsExporter.write(registry, file);
+        assertEquals(MetricsExporter.toPrometheusText(registry), new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.model;
+
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class FifaResultBatchTest extends TestCase {
+
+    public void testRepeatedStringsAreStoredOnce() {
+        FifaResultBatch batch = new FifaResultBatch(1);
+        for (int i = 0; i < 1_000; i++) {
+            batch.add(1930 + i, i % 2 == 0 ? "Brazil" : "Germany", "1–0", i % 2 == 0 ? "Germany" : "Brazil");
+        }
+
+        assertEquals(1_000, batch.size());
+        // "Brazil", "Germany" and "1–0", shared across the winner and runner-up columns
+        assertEquals(3, batch.getDictionarySize());
+        assertEquals(2929, batch.getYear(999));
+        assertEquals("Germany", batch.getWinner(999));
+        assertEquals(batch.getWinnerId(0), batch.getRunnerUpId(1));
+    }
+
+    public void testViewsReadTheColumns() {
+        List<FifaFinalResult> results = Arrays.asList(
+                new FifaFinalResult(1930, "Uruguay", "4–2", "Argentina"),
+                new FifaFinalResult(1950, "Uruguay", null, "Brazil"));
+        FifaResultBatch batch = FifaResultBatch.of(results);
+
+        assertEquals(results, batch.asResults());
+        assertEquals(Arrays.<Object>asList(1930, "Uruguay", "4–2", "Argentina"), batch.asSheetRows().get(0));
+        assertNull(batch.asSheetRows().get(1).get(2));
+        assertEquals(FifaResultBatch.NULL_ID, batch.getScoreId(1));
+
+        // Views are live and read-only
+        List<FifaFinalResult> view = batch.asResults();
+        batch.add(new FifaFinalResult(1954, "West Germany", "3–2", "Hungary"));
+        assertEquals(3, view.size());
+        try {
+            view.set(0, results.get(1));
+            fail("Expected the view to be read-only");
+        } catch (UnsupportedOperationException expected) {
+            // expected
+        }
+    }
+
+    public void testRowIndexIsChecked() {
+        FifaResultBatch batch = new FifaResultBatch();
+        batch.add(1930, "Uruguay", "4–2", "Argentina");
+        try {
+            batch.getYear(1);
+            fail("Expected an out-of-bounds row to be rejected");
+        } catch (IndexOutOfBoundsException expected) {
+            // expected
+        }
+    }
+}
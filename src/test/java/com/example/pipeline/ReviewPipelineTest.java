@@ -0,0 +1,109 @@
+package com.example.pipeline;
+
+import com.example.extractor.FifaResultExtractor;
+import com.example.gsheets.GoogleSheetsWriter;
+import com.example.gsheets.RetryPolicy;
+import com.example.gsheets.StreamingSheetsSink;
+import com.example.model.FifaFinalResult;
+import junit.framework.TestCase;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tests the staged review pipeline with an in-memory extractor and a sink that is never flushed.
+ */
+public class ReviewPipelineTest extends TestCase {
+
+    private static final List<FifaFinalResult> RESULTS = Arrays.asList(
+            new FifaFinalResult(1930, "Uruguay", "4–2", "Argentina"),
+            new FifaFinalResult(1934, "Italy", "2–1", "Czechoslovakia"),
+            new FifaFinalResult(1938, "Italy", "4–2", "Hungary"));
+
+    private StreamingSheetsSink newIdleSink() {
+        // Chunks are never full and the interval never elapses during the test, so nothing is written.
+        return new StreamingSheetsSink(new GoogleSheetsWriter(null, "unused", "Sheet1"), 100, Duration.ofHours(1), 10,
+                new RetryPolicy(1, Duration.ZERO, Duration.ZERO));
+    }
+
+    public void testReviewsEveryRowAndForwardsApprovals() throws Exception {
+        List<Integer> reviewedYears = new ArrayList<>();
+        ReviewPipeline pipeline = new ReviewPipeline(maxRows -> RESULTS, 10, 1);
+
+        ReviewPipeline.Summary summary = pipeline.run(result -> {
+            reviewedYears.add(result.getYear());
+            return result.getYear() == 1934 ? "skip" : "append";
+        }, newIdleSink());
+
+        assertEquals(Arrays.asList(1930, 1934, 1938), reviewedYears);
+        assertEquals(3, summary.getOffered());
+        assertEquals(Arrays.asList(RESULTS.get(0), RESULTS.get(2)), summary.getConfirmed());
+        assertFalse(summary.isQuit());
+    }
+
+    public void testReviewStartsBeforeExtractionFinishes() throws Exception {
+        CountDownLatch firstReviewed = new CountDownLatch(1);
+        AtomicBoolean extractionWaitedForReview = new AtomicBoolean();
+        FifaResultExtractor slowExtractor = new FifaResultExtractor() {
+            @Override
+            public List<FifaFinalResult> extractResults(int maxRows) {
+                throw new UnsupportedOperationException("only streamed");
+            }
+
+            @Override
+            public void streamResults(int maxRows, ResultCallback callback) throws InterruptedException {
+                callback.accept(RESULTS.get(0));
+                // The rest of the table is "still loading" until the reviewer has seen the first row
+                extractionWaitedForReview.set(firstReviewed.await(5, TimeUnit.SECONDS));
+                callback.accept(RESULTS.get(1));
+            }
+        };
+
+        ReviewPipeline.Summary summary = new ReviewPipeline(slowExtractor, 10, 4).run(result -> {
+            firstReviewed.countDown();
+            return "skip";
+        }, newIdleSink());
+
+        assertTrue(extractionWaitedForReview.get());
+        assertEquals(2, summary.getOffered());
+    }
+
+    public void testQuitStopsTheReviewEarly() throws Exception {
+        ReviewPipeline pipeline = new ReviewPipeline(maxRows -> RESULTS, 10, 1);
+
+        ReviewPipeline.Summary summary = pipeline.run(result -> "quit", newIdleSink());
+
+        assertEquals(1, summary.getOffered());
+        assertTrue(summary.getConfirmed().isEmpty());
+        assertTrue(summary.isQuit());
+    }
+
+    public void testTimeoutStopsTheReviewLikeQuit() throws Exception {
+        for (String choice : new String[]{"timeout", "error"}) {
+            ReviewPipeline pipeline = new ReviewPipeline(maxRows -> RESULTS, 10, 1);
+
+            ReviewPipeline.Summary summary = pipeline.run(result -> choice, newIdleSink());
+
+            assertEquals(choice, 1, summary.getOffered());
+            assertFalse(summary.isQuit());
+            assertEquals(choice, summary.getEndedWith());
+        }
+    }
+
+    public void testExtractionFailureEndsTheRun() throws Exception {
+        ReviewPipeline pipeline = new ReviewPipeline(maxRows -> {
+            throw new IOException("offline");
+        }, 10, 1);
+
+        ReviewPipeline.Summary summary = pipeline.run(result -> "append", newIdleSink());
+
+        assertEquals(0, summary.getOffered());
+        assertEquals("offline", summary.getExtractionError().getMessage());
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.sink;
+
+import com.example.model.FifaFinalResult;
+import com.example.model.FifaResultBatch;
+import junit.framework.TestCase;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class ColumnarFileSinkTest extends TestCase {
+
+    public void testReadsBackEveryBlockInOrder() throws Exception {
+        Path file = Files.createTempDirectory("columnar-sink-test").resolve("results.tnrc");
+        List<FifaFinalResult> expected = new ArrayList<>(Arrays.asList(
+                new FifaFinalResult(1930, "Uruguay", "4–2", "Argentina"),
+                new FifaFinalResult(1950, "Uruguay", null, "Brazil")));
+
+        try (ColumnarFileSink sink = new ColumnarFileSink(file)) {
+            sink.write(expected);
+            sink.write(Collections.<FifaFinalResult>emptyList());
+        }
+        FifaFinalResult appended = new FifaFinalResult(2022, "Argentina", "3–3 (a.e.t.) (4–2 p)", "France");
+        try (ColumnarFileSink sink = new ColumnarFileSink(file)) {
+            sink.write(Collections.singletonList(appended));
+        }
+        expected.add(appended);
+
+        assertEquals(expected, ColumnarFileSink.readAll(file));
+    }
+
+    public void testRejectsOtherFiles() throws Exception {
+        Path file = Files.createTempFile("columnar-sink-test", ".csv");
+        Files.write(file, "Year,Winner\n".getBytes("UTF-8"));
+        try {
+            ColumnarFileSink.readAll(file);
+            fail("Expected the magic number check to fail");
+        } catch (java.io.IOException expectedFailure) {
+            assertTrue(expectedFailure.getMessage().contains("Not a columnar results file"));
+        }
+    }
+
+    public void testWritesBatchesFromTheirColumns() throws Exception {
+        Path file = Files.createTempDirectory("columnar-sink-test").resolve("batch.tnrc");
+        List<FifaFinalResult> results = Arrays.asList(
+                new FifaFinalResult(1930, "Uruguay", "4–2", "Argentina"),
+                new FifaFinalResult(1950, "Uruguay", null, "Brazil"),
+                new FifaFinalResult(1978, "Argentina", "3–1 (a.e.t.)", "Netherlands"));
+
+        try (ColumnarFileSink sink = new ColumnarFileSink(file)) {
+            sink.write(FifaResultBatch.of(results));
+        }
+
+        assertEquals(results, ColumnarFileSink.readAll(file));
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.sink;
+
+import com.example.model.FifaFinalResult;
+import com.example.model.FifaResultBatch;
+import junit.framework.TestCase;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class CsvFileSinkTest extends TestCase {
+
+    public void testQuotesFieldsAndWritesHeaderOnlyOnce() throws Exception {
+        Path file = Files.createTempDirectory("csv-sink-test").resolve("out/results.csv");
+
+        try (CsvFileSink sink = new CsvFileSink(file)) {
+            sink.write(Arrays.asList(
+                    new FifaFinalResult(1930, "Uruguay", "4–2", "Argentina"),
+                    new FifaFinalResult(1934, "Italy", "2–1 (a.e.t.)", "Czechoslovakia, \"CSK\"")));
+            assertEquals(2, sink.getRowsWritten());
+        }
+        try (CsvFileSink sink = new CsvFileSink(file)) {
+            sink.write(Collections.singletonList(new FifaFinalResult(1938, "Italy", "4–2", "Hungary")));
+        }
+
+        String csv = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        assertEquals(CsvFileSink.HEADER
+                + "1930,Uruguay,4–2,Argentina\r\n"
+                + "1934,Italy,2–1 (a.e.t.),\"Czechoslovakia, \"\"CSK\"\"\"\r\n"
+                + "1938,Italy,4–2,Hungary\r\n", csv);
+    }
+
+    public void testBatchesLargerThanTheBufferAreWrittenCompletely() throws Exception {
+        Path file = Files.createTempFile("csv-sink-test", ".csv");
+        List<FifaFinalResult> batch = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            batch.add(new FifaFinalResult(1930 + i, "Winner " + i, i + "–0", "Runner-up " + i));
+        }
+
+        try (CsvFileSink sink = new CsvFileSink(file)) {
+            sink.write(batch);
+        }
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(20_001, lines.size());
+        assertEquals("21929,Winner 19999,19999–0,Runner-up 19999", lines.get(20_000));
+    }
+
+    public void testColumnarBatchWritesTheSameBytesAsRows() throws Exception {
+        List<FifaFinalResult> results = Arrays.asList(
+                new FifaFinalResult(1934, "Italy", "2–1 (a.e.t.)", "Czechoslovakia, \"CSK\""),
+                new FifaFinalResult(1938, "Italy", null, "Hungary"));
+        Path fromRows = Files.createTempFile("csv-sink-test", ".csv");
+        Path fromBatch = Files.createTempFile("csv-sink-test", ".csv");
+
+        try (CsvFileSink sink = new CsvFileSink(fromRows)) {
+            sink.write(results);
+        }
+        try (CsvFileSink sink = new CsvFileSink(fromBatch)) {
+            sink.write(FifaResultBatch.of(results));
+            assertEquals(2, sink.getRowsWritten());
+        }
+
+        assertTrue(Arrays.equals(Files.readAllBytes(fromRows), Files.readAllBytes(fromBatch)));
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.sink;
+
+import com.example.model.FifaFinalResult;
+import junit.framework.TestCase;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class FanOutSinkTest extends TestCase {
+
+    private static final List<FifaFinalResult> BATCH = Collections.singletonList(new FifaFinalResult(1930, "Uruguay", "4–2", "Argentina"));
+
+    public void testAFailingSinkDoesNotStopTheOthers() throws Exception {
+        Path dir = Files.createTempDirectory("fan-out-sink-test");
+        ColumnarFileSink columnar = new ColumnarFileSink(dir.resolve("results.tnrc"));
+        CsvFileSink csv = new CsvFileSink(dir.resolve("results.csv"));
+        FanOutSink fanOut = new FanOutSink(Arrays.asList(new FailingSink(), columnar, csv));
+
+        try {
+            fanOut.write(BATCH);
+            fail("Expected the failing sink's exception");
+        } catch (IOException expected) {
+            assertEquals("disk full", expected.getMessage());
+        }
+        fanOut.close();
+
+        assertEquals(BATCH, ColumnarFileSink.readAll(dir.resolve("results.tnrc")));
+        assertEquals(2, Files.readAllLines(dir.resolve("results.csv")).size());
+        assertEquals(0, fanOut.getRowsWritten());
+        assertEquals(1, csv.getRowsWritten());
+        assertEquals(BATCH, fanOut.getFailedRows());
+    }
+
+    public void testReportsResultsOnceEverySinkWroteThem() throws Exception {
+        Path dir = Files.createTempDirectory("fan-out-sink-test");
+        CsvFileSink csv = new CsvFileSink(dir.resolve("results.csv"));
+        ColumnarFileSink columnar = new ColumnarFileSink(dir.resolve("results.tnrc"));
+        FanOutSink fanOut = new FanOutSink(Arrays.asList(csv, columnar));
+        List<FifaFinalResult> reported = new ArrayList<>();
+        fanOut.setWriteListener(reported::addAll);
+
+        fanOut.write(BATCH);
+        // The columnar sink flushed its block, the CSV rows are still buffered
+        assertTrue(reported.isEmpty());
+
+        fanOut.close();
+        assertEquals(BATCH, reported);
+    }
+
+    public void testEqualResultsInFlightAreCountedSeparately() throws Exception {
+        ReportingSink first = new ReportingSink();
+        ReportingSink second = new ReportingSink();
+        FanOutSink fanOut = new FanOutSink(Arrays.asList(first, second));
+        List<FifaFinalResult> reported = new ArrayList<>();
+        fanOut.setWriteListener(reported::addAll);
+
+        fanOut.write(BATCH);
+        fanOut.write(BATCH);
+        // One sink wrote both copies, the other none: neither copy is everywhere yet
+        first.report(BATCH);
+        first.report(BATCH);
+        assertTrue(reported.isEmpty());
+
+        second.report(BATCH);
+        assertEquals(BATCH, reported);
+        second.report(BATCH);
+        assertEquals(2, reported.size());
+    }
+
+    /**
+     * Sink that reports results written only when the test says so.
+     */
+    private static class ReportingSink implements ResultSink {
+        private Consumer<List<FifaFinalResult>> listener;
+
+        void report(List<FifaFinalResult> written) {
+            listener.accept(written);
+        }
+
+        @Override
+        public void write(List<FifaFinalResult> batch) {
+        }
+
+        @Override
+        public void setWriteListener(Consumer<List<FifaFinalResult>> listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public int getRowsWritten() {
+            return 0;
+        }
+
+        @Override
+        public List<FifaFinalResult> getFailedRows() {
+            return Collections.emptyList();
+        }
+    }
+
+    private static class FailingSink implements ResultSink {
+        private int failed;
+
+        @Override
+        public void write(List<FifaFinalResult> batch) throws IOException {
+            failed += batch.size();
+            throw new IOException("disk full");
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public int getRowsWritten() {
+            return 0;
+        }
+
+        @Override
+        public List<FifaFinalResult> getFailedRows() {
+            return failed == 0 ? Collections.<FifaFinalResult>emptyList() : BATCH;
+        }
+    }
+}